@@ -18,6 +18,7 @@ import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.score.events.ScoreEventListener;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -52,6 +53,16 @@ public interface Slang {
             Set<SlangSource> dependencies,
             PrecompileStrategy precompileStrategy);
 
+    /**
+     * Compile each of the given CloudSlang sources, using all of them as the dependencies.
+     * Every source is pre-compiled only once.
+     *
+     * @param sources the CloudSlang sources, also serving as each other's dependencies
+     * @param precompileStrategy with / without cache
+     * @return the models (may be partially correct) and the accumulated errors, in the iteration order of the sources
+     */
+    List<CompilationModellingResult> compileSources(Set<SlangSource> sources, PrecompileStrategy precompileStrategy);
+
     /**
      * Extract the metadata of a flow or operation written in CloudSlang
      *
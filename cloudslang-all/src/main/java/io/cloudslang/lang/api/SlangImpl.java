@@ -29,6 +29,8 @@ import io.cloudslang.score.events.ScoreEventListener;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang.Validate;
@@ -126,8 +128,17 @@ public class SlangImpl implements Slang {
         }
     }
 
+    @Override
+    public List<CompilationModellingResult> compileSources(
+            Set<SlangSource> sources,
+            PrecompileStrategy precompileStrategy) {
+        Validate.notNull(precompileStrategy, "Pre-compile strategy can not be null");
+        return compiler.compileSources(filterOutNullSources(sources), precompileStrategy);
+    }
+
     private Set<SlangSource> filterOutNullSources(Set<SlangSource> dependencies) {
-        Set<SlangSource> dependencySources = new HashSet<>();
+        // keeps the iteration order, the results of compileSources follow it
+        Set<SlangSource> dependencySources = new LinkedHashSet<>();
         if (dependencies != null) {
             for (SlangSource dependency : dependencies) {
                 if (dependency != null) {
@@ -19,7 +19,7 @@ import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import org.apache.commons.io.FileUtils;
@@ -45,17 +45,44 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
         List<CompilationModellingResult> results = new ArrayList<>();
         try {
             Set<SlangSource> dependencySources = getSourcesFromFolders(foldersPaths);
+            List<File> files = new ArrayList<>(dependencySources.size());
             for (SlangSource dependencySource : dependencySources) {
-                File file = getFile(dependencySource.getFilePath());
-                compilationHelper.onEveryFile(file);
-                try {
-                    CompilationModellingResult result =
-                            slang.compileSource(dependencySource, dependencySources, PrecompileStrategy.WITH_CACHE);
-                    result.setFile(file);
-                    results.add(result);
-                } catch (Exception e) {
-                    logger.error("Failed compilation for file : " + file.getName() +
-                            " ,Exception is : " + e.getMessage());
+                files.add(getFile(dependencySource.getFilePath()));
+            }
+
+            // every source is pre-compiled once and serves as the path of all the others
+            List<CompilationModellingResult> compilationResults = null;
+            try {
+                compilationResults = slang.compileSources(dependencySources, PrecompileStrategy.WITH_CACHE);
+            } catch (Exception e) {
+                logger.error("Failed compilation for folders : " + foldersPaths +
+                        " ,Exception is : " + e.getMessage() + ". Compiling file by file");
+            }
+
+            if (compilationResults != null) {
+                for (int index = 0; index < files.size(); index++) {
+                    File file = files.get(index);
+                    compilationHelper.onEveryFile(file);
+                    if (index < compilationResults.size()) {
+                        CompilationModellingResult result = compilationResults.get(index);
+                        result.setFile(file);
+                        results.add(result);
+                    }
+                }
+            } else {
+                int index = 0;
+                for (SlangSource dependencySource : dependencySources) {
+                    File file = files.get(index++);
+                    compilationHelper.onEveryFile(file);
+                    try {
+                        CompilationModellingResult result = slang.compileSource(dependencySource,
+                                dependencySources, PrecompileStrategy.WITH_CACHE);
+                        result.setFile(file);
+                        results.add(result);
+                    } catch (Exception e) {
+                        logger.error("Failed compilation for file : " + file.getName() +
+                                " ,Exception is : " + e.getMessage());
+                    }
                 }
             }
         } finally {
@@ -76,7 +103,7 @@ public class SlangCompilationServiceImpl implements SlangCompilationService {
 
     @Override
     public Set<SlangSource> getSourcesFromFolders(final List<String> dependencies) {
-        Set<SlangSource> dependencySources = new HashSet<>();
+        Set<SlangSource> dependencySources = new LinkedHashSet<>();
         for (String dependency : dependencies) {
             Collection<File> dependenciesFiles = listSlangFiles(new File(dependency), true);
             for (File dependencyCandidate : dependenciesFiles) {
@@ -13,7 +13,6 @@ import io.cloudslang.lang.api.Slang;
 import io.cloudslang.lang.commons.services.api.CompilationHelper;
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
 import io.cloudslang.lang.compiler.PrecompileStrategy;
-import io.cloudslang.lang.compiler.SlangSource;
 import java.io.File;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -79,8 +78,7 @@ public class SlangCompilationServiceImplTest {
         inOrderHelper.verifyNoMoreInteractions();
 
         InOrder inOrder = inOrder(slang);
-        inOrder.verify(slang, atLeastOnce()).compileSource(
-                any(SlangSource.class), any(Set.class), eq(PrecompileStrategy.WITH_CACHE));
+        inOrder.verify(slang).compileSources(any(Set.class), eq(PrecompileStrategy.WITH_CACHE));
         inOrder.verify(slang).invalidateAllInPreCompileCache();
         inOrder.verifyNoMoreInteractions();
     }
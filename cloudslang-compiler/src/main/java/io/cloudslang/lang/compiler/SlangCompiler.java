@@ -16,7 +16,9 @@ import io.cloudslang.lang.compiler.modeller.result.SystemPropertyModellingResult
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.SystemProperty;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface SlangCompiler {
@@ -73,6 +75,20 @@ public interface SlangCompiler {
             SlangSource source, Set<SlangSource> path,
             PrecompileStrategy precompileStrategy);
 
+    /**
+     * Compile each of the given CloudSlang sources, using all of them as the path.
+     * Every source is pre-compiled once and the references are matched against an index that is built once,
+     * instead of pre-compiling the whole path again for every source.
+     *
+     * @param sources the CloudSlang sources to compile, also serving as each other's dependencies
+     * @param precompileStrategy with / without cache
+     * @return the compiled {@link CompilationModellingResult} objects, in the iteration order of the sources;
+     *     each containing the errors found in its own source
+     */
+    List<CompilationModellingResult> compileSources(
+            Collection<SlangSource> sources,
+            PrecompileStrategy precompileStrategy);
+
     /**
      * Pre-compile a CloudSlang source into an {@link io.cloudslang.lang.compiler.modeller.model.Executable}.
      * If an error is found, an exception is thrown
@@ -129,11 +145,48 @@ public interface SlangCompiler {
                                                PrecompileStrategy precompileStrategy,
                                                SensitivityLevel sensitivityLevel);
 
+    /**
+     * Pre-compile CloudSlang sources into {@link ExecutableModellingResult}s, without caching.
+     * The sources are pre-compiled in parallel, see
+     * {@link #preCompileSources(Collection, PrecompileStrategy, SensitivityLevel)}
+     *
+     * @param sources the {@link SlangSource}s
+     * @return the {@link ExecutableModellingResult}s, in the iteration order of the sources
+     */
+    List<ExecutableModellingResult> preCompileSources(Collection<SlangSource> sources);
+
+    /**
+     * Pre-compile CloudSlang sources into {@link ExecutableModellingResult}s.
+     * The sources are independent of each other and are pre-compiled in parallel; the results, and so the errors
+     * of every source, are returned in the iteration order of the sources regardless of the order in which
+     * they completed. If pre-compiling a source throws an exception, the exception of the first such source
+     * is thrown.
+     *
+     * @param sources            the {@link SlangSource}s
+     * @param precompileStrategy whether to use caching in pre-compile.
+     * @param sensitivityLevel the sensitivity level.
+     * @return the {@link ExecutableModellingResult}s, in the iteration order of the sources
+     */
+    List<ExecutableModellingResult> preCompileSources(Collection<SlangSource> sources,
+                                                      PrecompileStrategy precompileStrategy,
+                                                      SensitivityLevel sensitivityLevel);
+
     /**
      * Remove all elements in pre-compile cache. No-cached calls are not affected.
      */
     void invalidateAllInPreCompileCache();
 
+    /**
+     * Get the files to validate and compile again when files changed: the changed files and the files whose
+     * executables transitively reference an executable of a changed file. The dependencies are known for the
+     * files pre-compiled with {@link PrecompileStrategy#WITH_CACHE}; call it before pre-compiling the
+     * changed files again. Only the changed files themselves need to be pre-compiled again.
+     *
+     * @param changedFilePaths the paths of the changed files, as in {@link SlangSource#getFilePath()}
+     * @return the paths of the files to validate and compile again, the changed files first
+     */
+    Set<String> getAffectedFilePaths(Collection<String> changedFilePaths);
+
     /**
      * Validate that the given {@link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
      * its wiring to its dependencies
@@ -150,6 +203,19 @@ public interface SlangCompiler {
     List<RuntimeException> validateSlangModelWithDirectDependencies(Executable slangModel,
                                                                     Set<Executable> directDependenciesModels);
 
+    /**
+     * Validate that the given {@link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
+     * its wiring to its dependencies, see {@link #validateSlangModelWithDirectDependencies(Executable, Set)}.
+     * Only the dependencies referenced by the model are looked up, so the same map of available executables
+     * can be built once and shared by the validations of many models.
+     *
+     * @param slangModel           the CloudSlang model to validate
+     * @param availableExecutables the CloudSlang models that may be referenced, by their id
+     * @return a list of the exceptions that were found (if any)
+     */
+    List<RuntimeException> validateSlangModelWithDirectDependencies(Executable slangModel,
+                                                                    Map<String, Executable> availableExecutables);
+
     Set<SystemProperty> loadSystemProperties(SlangSource source);
 
     SystemPropertyModellingResult loadSystemPropertiesFromSource(SlangSource source);
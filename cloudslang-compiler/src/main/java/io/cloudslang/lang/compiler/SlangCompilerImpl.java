@@ -31,15 +31,21 @@ import io.cloudslang.lang.entities.utils.SetUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import static io.cloudslang.lang.compiler.SlangTextualKeys.SENSITIVE_KEY;
 import static io.cloudslang.lang.compiler.SlangTextualKeys.VALUE_KEY;
@@ -76,6 +82,8 @@ public class SlangCompilerImpl implements SlangCompiler {
 
     private MetadataExtractor metadataExtractor;
 
+    private ForkJoinPool preCompilePool;
+
     @Override
     public CompilationArtifact compile(SlangSource source, Set<SlangSource> dependencySources) {
         return compile(source, dependencySources, PrecompileStrategy.WITHOUT_CACHE);
@@ -125,27 +133,33 @@ public class SlangCompilerImpl implements SlangCompiler {
     private CompilationModellingResult getCompilationModellingResult(SlangSource source, Set<SlangSource> path,
                                                                      PrecompileStrategy precompileStrategy,
                                                                      SensitivityLevel sensitivityLevel) {
-        ExecutableModellingResult executableModellingResult = preCompileSource(source, precompileStrategy,
+        // we transform also all of the files in the given dependency sources to model objects
+        List<SlangSource> sources = new ArrayList<>();
+        sources.add(source);
+        if (CollectionUtils.isNotEmpty(path)) {
+            sources.addAll(path);
+        }
+        List<ExecutableModellingResult> modellingResults = preCompileSources(sources, precompileStrategy,
                 sensitivityLevel);
-        List<RuntimeException> errors = executableModellingResult.getErrors();
 
-        // we transform also all of the files in the given dependency sources to model objects
+        ExecutableModellingResult executableModellingResult = modellingResults.get(0);
+        // copied, since a cached pre-compile result may be shared by identical sources
+        List<RuntimeException> errors = new ArrayList<>(executableModellingResult.getErrors());
+
         Map<Executable, SlangSource> executablePairs = new HashMap<>();
         executablePairs.put(executableModellingResult.getExecutable(), source);
 
-        if (CollectionUtils.isNotEmpty(path)) {
-            for (SlangSource currentSource : path) {
-                ExecutableModellingResult result = preCompileSource(currentSource, precompileStrategy,
-                        sensitivityLevel);
-                Executable preCompiledCurrentSource = result.getExecutable();
-                errors.addAll(result.getErrors());
+        for (int index = 1; index < sources.size(); index++) {
+            SlangSource currentSource = sources.get(index);
+            ExecutableModellingResult result = modellingResults.get(index);
+            Executable preCompiledCurrentSource = result.getExecutable();
+            errors.addAll(result.getErrors());
 
-                List<RuntimeException> validatorErrors = compileValidator
-                        .validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, executablePairs);
-                errors.addAll(validatorErrors);
+            List<RuntimeException> validatorErrors = compileValidator
+                    .validateNoDuplicateExecutables(preCompiledCurrentSource, currentSource, executablePairs);
+            errors.addAll(validatorErrors);
 
-                executablePairs.put(preCompiledCurrentSource, currentSource);
-            }
+            executablePairs.put(preCompiledCurrentSource, currentSource);
         }
 
         CompilationModellingResult result = scoreCompiler
@@ -154,6 +168,51 @@ public class SlangCompilerImpl implements SlangCompiler {
         return new CompilationModellingResult(result.getCompilationArtifact(), errors);
     }
 
+    @Override
+    public List<CompilationModellingResult> compileSources(
+            Collection<SlangSource> sources,
+            PrecompileStrategy precompileStrategy) {
+        Validate.notNull(sources, "Sources can not be null");
+
+        // pre-compile every source once and index the executables by id; the first executable with a given id
+        // is the one referenced, the same as when matching the references of a single source
+        List<ExecutableModellingResult> modellingResults = preCompileSources(sources, precompileStrategy,
+                CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+        Map<String, Executable> availableExecutables = new HashMap<>();
+        // one pair per source, since identical files at different paths may share the same cached executable
+        Map<String, List<Pair<Executable, SlangSource>>> executablesById = new HashMap<>();
+        Iterator<SlangSource> preCompiledSources = sources.iterator();
+        for (ExecutableModellingResult modellingResult : modellingResults) {
+            SlangSource source = preCompiledSources.next();
+            Executable executable = modellingResult.getExecutable();
+            if (executable != null) {
+                availableExecutables.putIfAbsent(executable.getId(), executable);
+                executablesById.computeIfAbsent(executable.getId().toLowerCase(Locale.ENGLISH),
+                        id -> new ArrayList<>()).add(Pair.of(executable, source));
+            }
+        }
+
+        List<CompilationModellingResult> results = new ArrayList<>(modellingResults.size());
+        Iterator<SlangSource> sourcesIterator = sources.iterator();
+        for (ExecutableModellingResult modellingResult : modellingResults) {
+            SlangSource source = sourcesIterator.next();
+            Executable executable = modellingResult.getExecutable();
+            // copied, since a cached pre-compile result must not collect the errors of the compilation
+            List<RuntimeException> errors = new ArrayList<>(modellingResult.getErrors());
+            if (executable == null) {
+                results.add(new CompilationModellingResult(null, errors));
+                continue;
+            }
+            errors.addAll(compileValidator.validateNoDuplicateExecutables(executable, source,
+                    executablesById.get(executable.getId().toLowerCase(Locale.ENGLISH))));
+
+            CompilationModellingResult result = scoreCompiler.compileSource(executable, availableExecutables);
+            errors.addAll(result.getErrors());
+            results.add(new CompilationModellingResult(result.getCompilationArtifact(), errors));
+        }
+        return results;
+    }
+
     @Override
     public Executable preCompile(SlangSource source) {
         return preCompile(source, PrecompileStrategy.WITHOUT_CACHE);
@@ -184,6 +243,47 @@ public class SlangCompilerImpl implements SlangCompiler {
         return getExecutableModellingResult(source, precompileStrategy, sensitivityLevel);
     }
 
+    @Override
+    public List<ExecutableModellingResult> preCompileSources(Collection<SlangSource> sources) {
+        return preCompileSources(sources, PrecompileStrategy.WITHOUT_CACHE,
+                CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+    }
+
+    @Override
+    public List<ExecutableModellingResult> preCompileSources(Collection<SlangSource> sources,
+                                                             PrecompileStrategy precompileStrategy,
+                                                             SensitivityLevel sensitivityLevel) {
+        Validate.notNull(sources, "Sources can not be null");
+
+        List<ExecutableModellingResult> results = new ArrayList<>(sources.size());
+        if (preCompilePool == null || preCompilePool.getParallelism() < 2 || sources.size() < 2) {
+            for (SlangSource source : sources) {
+                results.add(getExecutableModellingResult(source, precompileStrategy, sensitivityLevel));
+            }
+            return results;
+        }
+
+        // every source is parsed with its own Yaml instance and the modeller keeps no state between sources,
+        // so the sources can be pre-compiled concurrently; joining in the order of submission keeps the
+        // results and the errors in the order of the sources
+        List<ForkJoinTask<ExecutableModellingResult>> tasks = new ArrayList<>(sources.size());
+        for (SlangSource source : sources) {
+            tasks.add(preCompilePool.submit(
+                    () -> getExecutableModellingResult(source, precompileStrategy, sensitivityLevel)));
+        }
+        try {
+            for (ForkJoinTask<ExecutableModellingResult> task : tasks) {
+                results.add(task.join());
+            }
+        } catch (RuntimeException | Error ex) {
+            for (ForkJoinTask<ExecutableModellingResult> task : tasks) {
+                task.cancel(false);
+            }
+            throw ex;
+        }
+        return results;
+    }
+
     private ExecutableModellingResult getExecutableModellingResult(SlangSource source,
                                                                    PrecompileStrategy precompileStrategy,
                                                                    SensitivityLevel sensitivityLevel) {
@@ -211,12 +311,25 @@ public class SlangCompilerImpl implements SlangCompiler {
         cachedPrecompileService.invalidateAll();
     }
 
+    @Override
+    public Set<String> getAffectedFilePaths(Collection<String> changedFilePaths) {
+        Validate.notNull(changedFilePaths, "Changed file paths can not be null");
+        return cachedPrecompileService.getAffectedPaths(changedFilePaths);
+    }
+
     @Override
     public List<RuntimeException> validateSlangModelWithDirectDependencies(Executable slangModel,
                                                                            Set<Executable> directDependenciesModels) {
         return scoreCompiler.validateSlangModelWithDirectDependencies(slangModel, directDependenciesModels);
     }
 
+    @Override
+    public List<RuntimeException> validateSlangModelWithDirectDependencies(
+            Executable slangModel,
+            Map<String, Executable> availableExecutables) {
+        return scoreCompiler.validateSlangModelWithDirectDependencies(slangModel, availableExecutables);
+    }
+
     @Override
     public Set<SystemProperty> loadSystemProperties(SlangSource source) {
         SystemPropertyModellingResult systemPropertyModellingResult = loadSystemPropertiesFromSource(source);
@@ -504,4 +617,8 @@ public class SlangCompilerImpl implements SlangCompiler {
     public void setMetadataExtractor(MetadataExtractor metadataExtractor) {
         this.metadataExtractor = metadataExtractor;
     }
+
+    public void setPreCompilePool(ForkJoinPool preCompilePool) {
+        this.preCompilePool = preCompilePool;
+    }
 }
@@ -9,6 +9,8 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -24,10 +26,13 @@ import java.nio.charset.StandardCharsets;
 
 public class SlangSource {
 
+    private static final HashFunction DIGEST_FUNCTION = Hashing.murmur3_128();
+
     private final String content;
     private final String name;
     private final String filePath;
     private final Extension fileExtension;
+    private final String digest;
 
     public SlangSource(String content, String name) {
         Validate.notNull(content, "Source cannot be null");
@@ -35,6 +40,7 @@ public class SlangSource {
         this.name = name;
         this.filePath = null;
         this.fileExtension = null;
+        this.digest = computeDigest(content);
     }
 
     private SlangSource(String content, String name, String filePath, Extension fileExtension) {
@@ -44,6 +50,7 @@ public class SlangSource {
         this.name = name;
         this.filePath = filePath;
         this.fileExtension = fileExtension;
+        this.digest = computeDigest(content);
     }
 
     public static SlangSource fromFile(File file) {
@@ -86,6 +93,14 @@ public class SlangSource {
         return FileUtils.readFileToString(file, charset);
     }
 
+    private static String computeDigest(String content) {
+        return DIGEST_FUNCTION.newHasher()
+                .putInt(content.length())
+                .putUnencodedChars(content)
+                .hash()
+                .toString();
+    }
+
     private static String getCanonicalFilePath(File file) {
         String filePath;
         try {
@@ -112,6 +127,13 @@ public class SlangSource {
         return filePath;
     }
 
+    /**
+     * @return a digest of the content, computed once when the source is created
+     */
+    public String getDigest() {
+        return digest;
+    }
+
     @Override
     public String toString() {
         return "SlangSource{" +
@@ -9,8 +9,11 @@
  *******************************************************************************/
 package io.cloudslang.lang.compiler.caching;
 
+import com.google.common.cache.CacheStats;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import java.util.Collection;
+import java.util.Set;
 
 /**
  * @author Bonczidai Levente
@@ -20,25 +23,25 @@ public interface CachedPrecompileService {
     /**
      * Cache a value.
      *
-     * @param path            the key for caching: path from source
+     * @param path            path from source, sources without a path are not cached
      * @param modellingResult actual value to cache
-     * @param source          used to detect changes since last cached
+     * @param source          the key for caching: its content digest, name and extension
      */
     void cacheValue(String path, ExecutableModellingResult modellingResult, SlangSource source);
 
     /**
      * Get a value from the cache.
      *
-     * @param path          the key for caching: path from source
-     * @param currentSource used to detect changes since last cached
+     * @param path          path from source, sources without a path are not cached
+     * @param currentSource the key for caching: its content digest, name and extension
      * @return {@link CacheResult} or null if key cannot be retrieved
      */
     CacheResult getValueFromCache(String path, SlangSource currentSource);
 
     /**
-     * Remove a value associated with this key from the cache.
+     * Remove the values cached for the source with this path from the cache.
      *
-     * @param path the key for caching: path from source
+     * @param path path from source
      */
     void invalidateEntry(String path);
 
@@ -46,4 +49,18 @@ public interface CachedPrecompileService {
      * Remove all cached values.
      */
     void invalidateAll();
+
+    /**
+     * Get the files to validate and compile again after files changed, using the dependencies of the executables
+     * cached so far, see {@link ReverseDependencyGraph}.
+     *
+     * @param changedPaths the paths of the changed files
+     * @return the changed files and the files that transitively depend on them
+     */
+    Set<String> getAffectedPaths(Collection<String> changedPaths);
+
+    /**
+     * @return the statistics of the cache, recorded only with -Dcslang.compiler.precompileCache.recordStats=true
+     */
+    CacheStats getStats();
 }
@@ -11,31 +11,78 @@ package io.cloudslang.lang.compiler.caching;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import org.apache.commons.codec.digest.DigestUtils;
 
 import javax.annotation.PostConstruct;
 
+/**
+ * Pre-compile results are keyed by the digest of the source content together with the source name and
+ * extension, which is all the pre-compilation depends on. A changed file therefore never finds a stale entry,
+ * and identical files share the same entry.
+ * <p>
+ * The capacity, the expiry and the recording of statistics can be configured with
+ * -Dcslang.compiler.precompileCache.maximumSize, -Dcslang.compiler.precompileCache.expireAfterAccessMinutes
+ * and -Dcslang.compiler.precompileCache.recordStats.
+ * <p>
+ * With -Dcslang.compiler.precompileCache.directory the error free results are also stored on disk and are found
+ * by later runs, see {@link PersistentPrecompileCache}.
+ * <p>
+ * The dependencies between the files are kept apart from the cache entries: a file whose entry was evicted still
+ * depends on the files it referenced, so it is forgotten only when it is invalidated.
+ */
 public class CachedPrecompileServiceImpl implements CachedPrecompileService {
 
+    private static final int MAXIMUM_SIZE = Integer.getInteger("cslang.compiler.precompileCache.maximumSize", 5000);
+    private static final int EXPIRE_AFTER_ACCESS_MINUTES =
+            Integer.getInteger("cslang.compiler.precompileCache.expireAfterAccessMinutes", 60);
+    private static final boolean RECORD_STATS = Boolean.valueOf(
+            System.getProperty("cslang.compiler.precompileCache.recordStats", "false"));
+    private static final String PERSISTENT_CACHE_DIRECTORY =
+            System.getProperty("cslang.compiler.precompileCache.directory");
+
     private Cache<String, CacheValue> cache;
 
+    private PersistentPrecompileCache persistentCache;
+
+    private final ReverseDependencyGraph dependencyGraph = new ReverseDependencyGraph();
+
     @PostConstruct
     public void init() {
-        cache = CacheBuilder.newBuilder()
-                .maximumSize(500)
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
                 .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
-                .expireAfterWrite(60, TimeUnit.MINUTES)
-                .build();
+                .expireAfterAccess(EXPIRE_AFTER_ACCESS_MINUTES, TimeUnit.MINUTES);
+        if (RECORD_STATS) {
+            cacheBuilder.recordStats();
+        }
+        cache = cacheBuilder.build();
+        if (PERSISTENT_CACHE_DIRECTORY != null && !PERSISTENT_CACHE_DIRECTORY.isEmpty()) {
+            persistentCache = PersistentPrecompileCache.open(Paths.get(PERSISTENT_CACHE_DIRECTORY));
+        }
     }
 
     @Override
     public void cacheValue(String path, ExecutableModellingResult modellingResult, SlangSource source) {
         if (path != null) {
+            String cacheKey = getCacheKey(source);
             CacheValue cacheValue = new CacheValue(source, modellingResult);
-            cache.put(path, cacheValue);
+            cache.put(cacheKey, cacheValue);
+            if (modellingResult != null && modellingResult.getExecutable() != null) {
+                dependencyGraph.update(path, cacheKey, modellingResult.getExecutable());
+            }
+            if (persistentCache != null && modellingResult != null && modellingResult.getExecutable() != null &&
+                    modellingResult.getErrors().isEmpty()) {
+                persistentCache.write(cacheKey, source, modellingResult.getExecutable());
+            }
         }
     }
 
@@ -44,7 +91,11 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
         if (path == null) {
             return null;
         }
-        CacheValue cachedValue = cache.getIfPresent(path);
+        String cacheKey = getCacheKey(currentSource);
+        CacheValue cachedValue = cache.getIfPresent(cacheKey);
+        if (cachedValue == null && persistentCache != null) {
+            cachedValue = readPersistedValue(cacheKey, currentSource);
+        }
         CacheValueState state;
         ExecutableModellingResult executableModellingResult = null;
 
@@ -56,6 +107,10 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
             } else {
                 state = CacheValueState.VALID;
                 executableModellingResult = cachedValue.getExecutableModellingResult();
+                // the entry may have been cached for an identical file with another path
+                if (executableModellingResult != null && executableModellingResult.getExecutable() != null) {
+                    dependencyGraph.update(path, cacheKey, executableModellingResult.getExecutable());
+                }
             }
         }
         return new CacheResult(state, executableModellingResult);
@@ -64,21 +119,55 @@ public class CachedPrecompileServiceImpl implements CachedPrecompileService {
     @Override
     public void invalidateEntry(String path) {
         if (path != null) {
-            cache.invalidate(path);
+            // the entry of the file may have been cached for an identical file with another path
+            String cacheKey = dependencyGraph.getCacheKey(path);
+            if (cacheKey != null) {
+                cache.invalidate(cacheKey);
+            }
+            cache.asMap().values().removeIf(cacheValue -> path.equals(cacheValue.getSource().getFilePath()));
+            dependencyGraph.remove(path);
         }
     }
 
     @Override
     public void invalidateAll() {
         cache.invalidateAll();
+        dependencyGraph.clear();
+        if (persistentCache != null) {
+            persistentCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public Set<String> getAffectedPaths(Collection<String> changedPaths) {
+        return dependencyGraph.getAffectedPaths(changedPaths);
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    private CacheValue readPersistedValue(String cacheKey, SlangSource source) {
+        Executable executable = persistentCache.read(cacheKey, source);
+        if (executable == null) {
+            return null;
+        }
+        CacheValue cacheValue = new CacheValue(source, new ExecutableModellingResult(executable, new ArrayList<>()));
+        cache.put(cacheKey, cacheValue);
+        return cacheValue;
+    }
+
+    String getCacheKey(SlangSource source) {
+        return source.getDigest() + ":" + source.getFileExtension() + ":" + source.getName();
     }
 
     boolean hasChangedSinceCached(SlangSource source1, SlangSource source2) {
-        String source1AsStr = source1.toString();
-        String source2AsStr = source2.toString();
-        return (source1AsStr.length() != source2AsStr.length()) ||
-                (!DigestUtils.md5Hex(source1AsStr).equals(DigestUtils.md5Hex(source2AsStr))) ||
-                (!DigestUtils.sha256Hex(source1AsStr).equals(DigestUtils.sha256Hex(source2AsStr)));
+        // guards against digest collisions, the digests are computed when the sources are created
+        return (source1.getContent().length() != source2.getContent().length()) ||
+                !Objects.equals(source1.getDigest(), source2.getDigest()) ||
+                !Objects.equals(source1.getName(), source2.getName()) ||
+                !Objects.equals(source1.getFileExtension(), source2.getFileExtension());
     }
 
 }
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.entities.bindings.Input;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * On-disk store of error free pre-compiled executables, read by later runs of the compiler.
+ * <p>
+ * The store only writes under its own {@value #STORE_DIRECTORY} subdirectory of the configured directory.
+ * Every entry is a file named by the hash of its cache key, in a directory per compiler version. The version
+ * is derived from the jars of the compiler and of the entities, so a different build never reads the entries
+ * written by another one. Each version directory holds a marker file which is touched whenever the store is
+ * opened; only the marked version directories which were not opened for {@link #RETENTION_DAYS} days are removed,
+ * so compilers of different versions can share the configured directory.
+ * An entry holds a header with the cache key and the content length of the source, followed by the deflated
+ * java serialization of the executable, which is read back only if it is made of compiler model, entity and
+ * basic JDK classes. Any failure to read or write an entry is treated as a cache miss.
+ */
+class PersistentPrecompileCache {
+
+    private static final int MAGIC = 0x534c4350;
+    private static final int FORMAT_VERSION = 1;
+    private static final String ENTRY_SUFFIX = ".bin";
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    static final String STORE_DIRECTORY = "cloudslang-precompile";
+    static final String VERSION_MARKER = ".cloudslang-precompile-version";
+    static final int RETENTION_DAYS = Integer.getInteger("cslang.compiler.precompileCache.retentionDays", 7);
+    private static final Set<String> ALLOWED_PACKAGES =
+            new HashSet<>(Arrays.asList("java.lang", "java.util", "java.math"));
+    private static final String[] ALLOWED_PACKAGE_PREFIXES =
+            {"io.cloudslang.lang.compiler.", "io.cloudslang.lang.entities."};
+
+    private final Path directory;
+
+    PersistentPrecompileCache(Path baseDirectory, String compilerVersion) throws IOException {
+        Path storeDirectory = baseDirectory.resolve(STORE_DIRECTORY);
+        this.directory = storeDirectory.resolve(compilerVersion);
+        Files.createDirectories(directory);
+        markVersionUsed();
+        removeUnusedVersions(storeDirectory);
+    }
+
+    /**
+     * @param baseDirectory the configured directory, the store is kept in a subdirectory of it
+     * @return the store, or null if the compiler version can not be determined or the directory is not usable
+     */
+    static PersistentPrecompileCache open(Path baseDirectory) {
+        return open(baseDirectory, getCompilerVersion());
+    }
+
+    static PersistentPrecompileCache open(Path baseDirectory, String compilerVersion) {
+        if (compilerVersion == null) {
+            return null;
+        }
+        try {
+            return new PersistentPrecompileCache(baseDirectory, compilerVersion);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    Executable read(String cacheKey, SlangSource source) {
+        Path entry = getEntry(cacheKey);
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+        try (InputStream inputStream = new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(entry)))) {
+            DataInputStream dataInputStream = new DataInputStream(inputStream);
+            if (dataInputStream.readInt() != MAGIC || dataInputStream.readInt() != FORMAT_VERSION ||
+                    !cacheKey.equals(dataInputStream.readUTF()) ||
+                    dataInputStream.readInt() != source.getContent().length()) {
+                return null;
+            }
+            return (Executable) new AllowListObjectInputStream(dataInputStream).readObject();
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            deleteQuietly(entry);
+            return null;
+        }
+    }
+
+    void write(String cacheKey, SlangSource source, Executable executable) {
+        Path temporaryEntry = null;
+        try {
+            // written aside and moved, so concurrent compilers never read a partially written entry
+            temporaryEntry = Files.createTempFile(directory, "entry", ".tmp");
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream outputStream = new DeflaterOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryEntry)), deflater)) {
+                DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+                dataOutputStream.writeInt(MAGIC);
+                dataOutputStream.writeInt(FORMAT_VERSION);
+                dataOutputStream.writeUTF(cacheKey);
+                dataOutputStream.writeInt(source.getContent().length());
+                ObjectOutputStream objectOutputStream = new ObjectOutputStream(dataOutputStream);
+                objectOutputStream.writeObject(executable);
+                objectOutputStream.flush();
+            } finally {
+                deflater.end();
+            }
+            moveEntry(temporaryEntry, getEntry(cacheKey));
+        } catch (IOException | RuntimeException e) {
+            // not cached on disk, it will be pre-compiled again by the next run
+        } finally {
+            if (temporaryEntry != null) {
+                deleteQuietly(temporaryEntry);
+            }
+        }
+    }
+
+    void invalidateAll() {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (Path entry : entries) {
+                deleteQuietly(entry);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the entries that are left are still valid
+        }
+    }
+
+    private Path getEntry(String cacheKey) {
+        return directory.resolve(HASH_FUNCTION.hashUnencodedChars(cacheKey).toString() + ENTRY_SUFFIX);
+    }
+
+    private void moveEntry(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void markVersionUsed() throws IOException {
+        Path marker = directory.resolve(VERSION_MARKER);
+        if (!Files.exists(marker)) {
+            Files.createFile(marker);
+        }
+        Files.setLastModifiedTime(marker, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    private void removeUnusedVersions(Path storeDirectory) throws IOException {
+        long unusedSince = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+        try (DirectoryStream<Path> versions = Files.newDirectoryStream(storeDirectory)) {
+            for (Path version : versions) {
+                Path marker = version.resolve(VERSION_MARKER);
+                // only the directories created by the store are removed
+                if (!version.equals(directory) && Files.isRegularFile(marker) &&
+                        Files.getLastModifiedTime(marker).toMillis() < unusedSince) {
+                    FileUtils.deleteQuietly(version.toFile());
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException | RuntimeException e) {
+            // an entry that can not be deleted is overwritten or ignored later
+        }
+    }
+
+    private static String getCompilerVersion() {
+        Hasher hasher = HASH_FUNCTION.newHasher().putInt(FORMAT_VERSION);
+        for (Class<?> type : new Class<?>[] {Executable.class, Input.class}) {
+            File jar = getJar(type);
+            if (jar == null) {
+                return null;
+            }
+            hasher.putUnencodedChars(jar.getName())
+                    .putLong(jar.length())
+                    .putLong(jar.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    private static File getJar(Class<?> type) {
+        try {
+            CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) {
+                return null;
+            }
+            File location = new File(codeSource.getLocation().toURI());
+            // classes directories change without notice, e.g. while developing the compiler
+            return location.isFile() ? location : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads only the classes an executable is made of, so that an entry planted in the configured directory
+     * can not instantiate other serializable classes.
+     */
+    static class AllowListObjectInputStream extends ObjectInputStream {
+
+        AllowListObjectInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+            if (!isAllowed(descriptor.getName())) {
+                throw new InvalidClassException(descriptor.getName(), "Class is not allowed in the cache");
+            }
+            return super.resolveClass(descriptor);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+            throw new InvalidClassException("Proxy classes are not allowed in the cache");
+        }
+
+        private static boolean isAllowed(String className) {
+            String elementClassName = className;
+            while (elementClassName.startsWith("[")) {
+                elementClassName = elementClassName.substring(1);
+            }
+            if (elementClassName.startsWith("L") && elementClassName.endsWith(";")) {
+                elementClassName = elementClassName.substring(1, elementClassName.length() - 1);
+            } else if (!elementClassName.equals(className)) {
+                // an array of primitives
+                return true;
+            }
+            for (String allowedPackagePrefix : ALLOWED_PACKAGE_PREFIXES) {
+                if (elementClassName.startsWith(allowedPackagePrefix)) {
+                    return true;
+                }
+            }
+            int packageEnd = elementClassName.lastIndexOf('.');
+            return packageEnd > 0 && ALLOWED_PACKAGES.contains(elementClassName.substring(0, packageEnd));
+        }
+    }
+}
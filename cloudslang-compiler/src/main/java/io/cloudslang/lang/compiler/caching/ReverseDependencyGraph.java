@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse dependency graph of pre-compiled files: for every executable id, the files whose executables
+ * reference it, built from {@link Executable#getExecutableDependencies()}.
+ * <p>
+ * Given the files that changed, the graph returns the files that have to be validated and compiled again:
+ * the changed files and the files that transitively depend on them. Only the changed files themselves
+ * have to be pre-compiled again, the model of a file does not depend on the files it references.
+ * <p>
+ * A file is recorded together with the key of the pre-compile cache entry its executable was found in. It stays
+ * recorded when that entry is evicted from the cache, since evicting it does not change what the file references,
+ * and is forgotten only when the file itself is invalidated or deleted.
+ */
+public class ReverseDependencyGraph {
+
+    private final Map<String, String> idsByPath = new HashMap<>();
+    private final Map<String, Set<String>> dependenciesByPath = new HashMap<>();
+    private final Map<String, Set<String>> dependentPathsById = new HashMap<>();
+    private final Map<String, String> cacheKeysByPath = new HashMap<>();
+
+    /**
+     * Records the executable pre-compiled from a file, replacing what was recorded for the file before.
+     *
+     * @param path       the path of the file, as in {@link io.cloudslang.lang.compiler.SlangSource#getFilePath()}
+     * @param cacheKey   the key of the pre-compile cache entry of the executable
+     * @param executable the executable of the file
+     */
+    public synchronized void update(String path, String cacheKey, Executable executable) {
+        remove(path);
+        idsByPath.put(path, executable.getId());
+        cacheKeysByPath.put(path, cacheKey);
+        Set<String> dependencies = executable.getExecutableDependencies() == null ?
+                Collections.<String>emptySet() : new HashSet<>(executable.getExecutableDependencies());
+        dependenciesByPath.put(path, dependencies);
+        for (String dependency : dependencies) {
+            dependentPathsById.computeIfAbsent(dependency, id -> new HashSet<>()).add(path);
+        }
+    }
+
+    /**
+     * Forgets a file, e.g. after it was deleted.
+     *
+     * @param path the path of the file
+     */
+    public synchronized void remove(String path) {
+        idsByPath.remove(path);
+        cacheKeysByPath.remove(path);
+        Set<String> dependencies = dependenciesByPath.remove(path);
+        if (dependencies != null) {
+            for (String dependency : dependencies) {
+                Set<String> dependentPaths = dependentPathsById.get(dependency);
+                dependentPaths.remove(path);
+                if (dependentPaths.isEmpty()) {
+                    dependentPathsById.remove(dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param path the path of the file
+     * @return the key of the pre-compile cache entry the executable of the file was last found in, or null if the
+     *     file is not recorded
+     */
+    public synchronized String getCacheKey(String path) {
+        return cacheKeysByPath.get(path);
+    }
+
+    public synchronized void clear() {
+        idsByPath.clear();
+        dependenciesByPath.clear();
+        dependentPathsById.clear();
+        cacheKeysByPath.clear();
+    }
+
+    /**
+     * Returns the changed files and all the files that transitively depend on them, according to the executables
+     * recorded so far; it should be called before the changed files are pre-compiled again, so a changed
+     * executable id still reaches the files that referenced the previous one.
+     * <p>
+     * The id of a new file is not known before it is pre-compiled, and it may satisfy references that no recorded
+     * file satisfied so far, so the files with such unresolved references are affected by a new file as well.
+     * A recorded file whose executable id changes is not treated so: only the files that referenced its previous
+     * id are affected.
+     *
+     * @param changedPaths the paths of the changed files
+     * @return the paths of the files to validate and compile again, the changed files first
+     */
+    public synchronized Set<String> getAffectedPaths(Collection<String> changedPaths) {
+        Set<String> affectedPaths = new LinkedHashSet<>();
+        Set<String> visitedIds = new HashSet<>();
+        Deque<String> pendingPaths = new ArrayDeque<>(changedPaths);
+        if (!idsByPath.keySet().containsAll(changedPaths)) {
+            Set<String> resolvedIds = new HashSet<>(idsByPath.values());
+            for (Map.Entry<String, Set<String>> entry : dependentPathsById.entrySet()) {
+                if (!resolvedIds.contains(entry.getKey())) {
+                    pendingPaths.addAll(entry.getValue());
+                }
+            }
+        }
+        while (!pendingPaths.isEmpty()) {
+            String path = pendingPaths.poll();
+            if (!affectedPaths.add(path)) {
+                continue;
+            }
+            String id = idsByPath.get(path);
+            if (id != null && visitedIds.add(id)) {
+                Set<String> dependentPaths = dependentPathsById.get(id);
+                if (dependentPaths != null) {
+                    pendingPaths.addAll(dependentPaths);
+                }
+            }
+        }
+        return affectedPaths;
+    }
+}
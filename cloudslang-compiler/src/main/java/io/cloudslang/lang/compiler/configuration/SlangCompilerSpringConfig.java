@@ -88,6 +88,8 @@ import org.yaml.snakeyaml.introspector.PropertyUtils;
 
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 @Configuration
 @ComponentScan("io.cloudslang.lang.compiler")
@@ -96,6 +98,9 @@ public class SlangCompilerSpringConfig {
 
     private static final String OBJECT_REPOSITORY_CAMEL_CASE = "objectRepository";
 
+    private static final int PRECOMPILE_PARALLELISM = Integer.getInteger("cslang.compiler.precompileParallelism",
+            Runtime.getRuntime().availableProcessors());
+
     @Bean
     @Scope("prototype")
     public Yaml yaml() {
@@ -252,10 +257,23 @@ public class SlangCompilerSpringConfig {
         slangCompiler.setSystemPropertyValidator(systemPropertyValidator());
         slangCompiler.setYamlParser(yamlParser());
         slangCompiler.setMetadataExtractor(metadataExtractor());
+        slangCompiler.setPreCompilePool(preCompilePool());
 
         return slangCompiler;
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool preCompilePool() {
+        // the workers load the classes of the compiler, e.g. when running inside a maven plugin class realm
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return new ForkJoinPool(Math.max(1, PRECOMPILE_PARALLELISM), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("slang-precompile-" + thread.getPoolIndex());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+    }
+
     @Bean
     public SlangModeller slangModeller() {
         SlangModellerImpl slangModeller = new SlangModellerImpl();
@@ -29,22 +29,20 @@ import io.cloudslang.lang.entities.bindings.Output;
 import io.cloudslang.lang.entities.bindings.Result;
 import io.cloudslang.lang.entities.constants.Messages;
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.lang3.Validate;
 
-import static ch.lambdaj.Lambda.having;
-import static ch.lambdaj.Lambda.on;
-import static ch.lambdaj.Lambda.selectFirst;
 import static org.apache.commons.collections4.CollectionUtils.isNotEmpty;
-import static org.hamcrest.Matchers.equalTo;
 
 public class DependenciesHelper {
 
@@ -79,7 +77,7 @@ public class DependenciesHelper {
     }
 
     /**
-     * recursive matches executables with their references
+     * matches executables with their references, including the references of referenced flows
      *
      * @param executable the executables
      * @param availableDependencies the executables to match from
@@ -87,31 +85,55 @@ public class DependenciesHelper {
      */
     public Map<String, Executable> matchReferences(Executable executable,
                                                    Collection<Executable> availableDependencies) {
+        Map<String, Executable> dependenciesById = new HashMap<>();
+        for (Executable dependency : availableDependencies) {
+            // the first executable with a given id wins
+            dependenciesById.putIfAbsent(dependency.getId(), dependency);
+        }
+        return matchReferences(executable, dependenciesById);
+    }
+
+    /**
+     * matches executables with their references, including the references of referenced flows
+     *
+     * @param executable the executables
+     * @param availableDependencies the executables to match from, by their id;
+     *                              can be built once and reused for all the executables of a compilation
+     * @return a map of a the executables that were successfully matched
+     */
+    public Map<String, Executable> matchReferences(Executable executable,
+                                                   Map<String, Executable> availableDependencies) {
         Validate.isTrue(executable.getType().equals(SlangTextualKeys.FLOW_TYPE),
                 "Executable: \'" + executable.getId() + "\' is not a flow, therefore it has no references");
         Map<String, Executable> resolvedDependencies = new HashMap<>();
-        return fetchFlowReferences(executable, availableDependencies, resolvedDependencies);
-    }
 
-    private Map<String, Executable> fetchFlowReferences(Executable executable,
-                                                        Collection<Executable> availableDependencies,
-                                                        Map<String, Executable> resolvedDependencies) {
-        for (String refId : executable.getExecutableDependencies()) {
+        // depth first, in the same order as resolving the references of each flow recursively
+        Deque<Executable> referencingExecutables = new ArrayDeque<>();
+        Deque<Iterator<String>> pendingReferences = new ArrayDeque<>();
+        referencingExecutables.push(executable);
+        pendingReferences.push(executable.getExecutableDependencies().iterator());
+        while (!pendingReferences.isEmpty()) {
+            Iterator<String> references = pendingReferences.peek();
+            if (!references.hasNext()) {
+                pendingReferences.pop();
+                referencingExecutables.pop();
+                continue;
+            }
+            String refId = references.next();
             //if it is already in the references we do nothing
             if (resolvedDependencies.get(refId) == null) {
-                Executable matchingRef = selectFirst(availableDependencies,
-                        having(on(Executable.class).getId(), equalTo(refId)));
+                Executable matchingRef = availableDependencies.get(refId);
                 if (matchingRef == null) {
                     throw new RuntimeException("Reference: \'" + refId + "\' in executable: \'" +
-                            executable.getName() + "\', wasn't found in path");
+                            referencingExecutables.peek().getName() + "\', wasn't found in path");
                 }
 
                 //first we put the reference on the map
                 resolvedDependencies.put(matchingRef.getId(), matchingRef);
                 if (matchingRef.getType().equals(SlangTextualKeys.FLOW_TYPE)) {
-                    //if it is a flow  we recursively
-                    resolvedDependencies
-                            .putAll(fetchFlowReferences(matchingRef, availableDependencies, resolvedDependencies));
+                    //if it is a flow we resolve its references next
+                    referencingExecutables.push(matchingRef);
+                    pendingReferences.push(matchingRef.getExecutableDependencies().iterator());
                 }
             }
         }
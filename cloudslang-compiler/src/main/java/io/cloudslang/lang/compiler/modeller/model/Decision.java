@@ -25,6 +25,8 @@ import java.util.Set;
  */
 public class Decision extends Executable {
 
+    private static final long serialVersionUID = 5678844853101266816L;
+
     public Decision(
             Map<String, Serializable> preExecActionData,
             Map<String, Serializable> postExecActionData,
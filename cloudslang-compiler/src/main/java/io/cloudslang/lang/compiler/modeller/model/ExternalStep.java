@@ -16,6 +16,8 @@ import java.util.List;
 import java.util.Map;
 
 public class ExternalStep extends Step {
+
+    private static final long serialVersionUID = 300104679242906119L;
     private boolean validation;
 
     public ExternalStep(
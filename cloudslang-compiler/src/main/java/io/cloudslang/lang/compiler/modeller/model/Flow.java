@@ -25,6 +25,8 @@ import java.util.Set;
  */
 public class Flow extends Executable {
 
+    private static final long serialVersionUID = -4362351741773058262L;
+
     private final Workflow workflow;
     private final String workerGroup;
 
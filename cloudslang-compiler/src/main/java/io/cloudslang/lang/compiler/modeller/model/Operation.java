@@ -24,6 +24,8 @@ import java.util.Set;
  */
 public class Operation extends Executable {
 
+    private static final long serialVersionUID = 7405686797972121778L;
+
     private final Action action;
 
     public Operation(Map<String, Serializable> preOpActionData,
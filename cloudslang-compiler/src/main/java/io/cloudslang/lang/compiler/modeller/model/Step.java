@@ -17,7 +17,9 @@ import java.util.Map;
 /*
  * Created by orius123 on 06/11/14.
  */
-public class Step {
+public class Step implements Serializable {
+
+    private static final long serialVersionUID = 6877351621570455288L;
 
     private final String name;
     private final Map<String, Serializable> preStepActionData;
@@ -22,10 +22,18 @@ public class AbstractInOutForTransformer {
     protected Accumulator extractFunctionData(Serializable... values) {
         final Set<String> systemPropertyDependencies = new HashSet<>();
         final Set<ScriptFunction> functionDependencies = new HashSet<>();
+        Set<String> variableDependencies = new HashSet<>();
 
         for (Serializable value : values) {
             String expression = ExpressionUtils.extractExpression(value);
             if (expression != null) {
+                Set<String> expressionVariables = ExpressionUtils.extractVariables(expression);
+                if (expressionVariables == null) {
+                    variableDependencies = null;
+                } else if (variableDependencies != null) {
+                    variableDependencies.addAll(expressionVariables);
+                }
+
                 Set<String> propertyDependencies = ExpressionUtils.extractSystemProperties(expression);
                 if (CollectionUtils.isNotEmpty(propertyDependencies)) {
                     functionDependencies.add(ScriptFunction.GET_SYSTEM_PROPERTY);
@@ -45,17 +53,20 @@ public class AbstractInOutForTransformer {
             }
         }
 
-        return new Accumulator(functionDependencies, systemPropertyDependencies);
+        return new Accumulator(functionDependencies, systemPropertyDependencies, variableDependencies);
     }
 
     protected static class Accumulator {
 
         private final Set<ScriptFunction> functionDependencies;
         private final Set<String> systemPropertyDependencies;
+        private final Set<String> variableDependencies;
 
-        public Accumulator(Set<ScriptFunction> functionDependencies, Set<String> systemPropertyDependencies) {
+        public Accumulator(Set<ScriptFunction> functionDependencies, Set<String> systemPropertyDependencies,
+                           Set<String> variableDependencies) {
             this.functionDependencies = functionDependencies;
             this.systemPropertyDependencies = systemPropertyDependencies;
+            this.variableDependencies = variableDependencies;
         }
 
         public Set<ScriptFunction> getFunctionDependencies() {
@@ -66,5 +77,9 @@ public class AbstractInOutForTransformer {
             return systemPropertyDependencies;
         }
 
+        public Set<String> getVariableDependencies() {
+            return variableDependencies;
+        }
+
     }
 }
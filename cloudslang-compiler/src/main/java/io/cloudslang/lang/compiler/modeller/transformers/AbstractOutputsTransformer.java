@@ -111,7 +111,8 @@ public abstract class AbstractOutputsTransformer extends InOutTransformer {
                 outputName,
                 ValueFactory.create(outputExpression, sensitive, sensitivityLevel),
                 accumulator.getFunctionDependencies(),
-                accumulator.getSystemPropertyDependencies()
+                accumulator.getSystemPropertyDependencies(),
+                accumulator.getVariableDependencies()
         );
     }
 
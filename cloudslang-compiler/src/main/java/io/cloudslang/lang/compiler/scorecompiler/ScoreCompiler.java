@@ -12,7 +12,9 @@ package io.cloudslang.lang.compiler.scorecompiler;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.score.api.ExecutionPlan;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /*
@@ -40,6 +42,22 @@ public interface ScoreCompiler {
      */
     CompilationArtifact compile(Executable source, Set<Executable> path);
 
+    /**
+     * Compile an {@link io.cloudslang.lang.compiler.modeller.model.Executable} and its path
+     * to a {@link io.cloudslang.lang.entities.CompilationArtifact} object, reusing the
+     * {@link io.cloudslang.score.api.ExecutionPlan}s of the dependencies that were already created.
+     * The map is meant to be shared by the compilations of a single set of models, e.g. a verification run,
+     * as the plans are looked up by executable id only; it has to be thread safe when the compilations
+     * run concurrently.
+     * Fails by throwing the first exception from the accumulated exceptions.
+     *
+     * @param source         the {@link Executable} source
+     * @param path           a set of {@link Executable}s containing the source dependencies
+     * @param executionPlans the execution plans of the dependencies by executable id, the missing plans are added
+     * @return the compiled {@link io.cloudslang.lang.entities.CompilationArtifact}
+     */
+    CompilationArtifact compile(Executable source, Set<Executable> path, Map<String, ExecutionPlan> executionPlans);
+
     /**
      * Compile an {@link io.cloudslang.lang.compiler.modeller.model.Executable} and its path
      * to a {@link io.cloudslang.lang.entities.CompilationArtifact} object.
@@ -51,6 +69,18 @@ public interface ScoreCompiler {
      */
     CompilationModellingResult compileSource(Executable source, Set<Executable> path);
 
+    /**
+     * Compile an {@link io.cloudslang.lang.compiler.modeller.model.Executable} against executables that were
+     * already indexed by their id, e.g. once for all the sources of a batch compilation.
+     * Does not fail but returns all the accumulated exceptions.
+     *
+     * @param source               the {@link Executable} source
+     * @param availableExecutables the {@link Executable}s that may be referenced, by their id,
+     *                             including the source itself
+     * @return modelling resutl containing the compiled {@link io.cloudslang.lang.entities.CompilationArtifact}
+     */
+    CompilationModellingResult compileSource(Executable source, Map<String, Executable> availableExecutables);
+
     /**
      * Validate that the given {@link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
      * its wiring to its dependencies
@@ -65,4 +95,15 @@ public interface ScoreCompiler {
     List<RuntimeException> validateSlangModelWithDirectDependencies(Executable slangModel,
                                                                     Set<Executable> directDependenciesModels);
 
+    /**
+     * Validate that the given {@link io.cloudslang.lang.compiler.modeller.model.Executable} is valid regarding
+     * its wiring to its dependencies, see {@link #validateSlangModelWithDirectDependencies(Executable, Set)}
+     *
+     * @param slangModel          the CloudSlang model to validate
+     * @param availableExecutables the CloudSlang models that may be referenced, by their id
+     * @return a list of the exceptions that were found (if any)
+     */
+    List<RuntimeException> validateSlangModelWithDirectDependencies(Executable slangModel,
+                                                                    Map<String, Executable> availableExecutables);
+
 }
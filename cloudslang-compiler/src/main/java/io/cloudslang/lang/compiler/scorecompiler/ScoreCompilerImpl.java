@@ -10,6 +10,8 @@
 package io.cloudslang.lang.compiler.scorecompiler;
 
 import ch.lambdaj.function.convert.Converter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.SlangTextualKeys;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
 import io.cloudslang.lang.compiler.modeller.model.Decision;
@@ -33,14 +35,34 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang.Validate;
 
 import static ch.lambdaj.Lambda.convertMap;
 
 
+/**
+ * The execution plans of the operation and decision dependencies are cached by the identity of their model, so
+ * the plan of a shared dependency is created once and shared by all the {@link CompilationArtifact}s compiled from
+ * the same models, e.g. the models found in the pre-compile cache. A changed source is pre-compiled into a new
+ * model and so gets a new plan; the entries of models that are no longer referenced are collected with them.
+ * Flow dependencies are planned by every compilation, since their on_failure navigations depend on the
+ * dependencies resolved for it. The capacity can be configured with
+ * -Dcslang.compiler.executionPlanCache.maximumSize, 0 disables the cache.
+ */
 public class ScoreCompilerImpl implements ScoreCompiler {
 
+    private static final int EXECUTION_PLAN_CACHE_SIZE =
+            Integer.getInteger("cslang.compiler.executionPlanCache.maximumSize", 5000);
+
+    // weak keys are compared by identity, a model is never equal to a different model with the same id
+    private final Cache<Executable, ExecutionPlan> executionPlanCache = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(EXECUTION_PLAN_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build();
+
     private ExecutionPlanBuilder executionPlanBuilder;
 
     private DependenciesHelper dependenciesHelper;
@@ -49,7 +71,13 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
     @Override
     public CompilationArtifact compile(Executable source, Set<Executable> path) {
-        CompilationModellingResult compilationModellingResult = compileSource(source, path);
+        return compile(source, path, null);
+    }
+
+    @Override
+    public CompilationArtifact compile(Executable source, Set<Executable> path,
+                                       Map<String, ExecutionPlan> executionPlans) {
+        CompilationModellingResult compilationModellingResult = compileSource(source, path, executionPlans);
         List<RuntimeException> errors = compilationModellingResult.getErrors();
         if (CollectionUtils.isNotEmpty(errors)) {
             throw errors.get(0);
@@ -59,27 +87,61 @@ public class ScoreCompilerImpl implements ScoreCompiler {
 
     @Override
     public CompilationModellingResult compileSource(Executable executable, Set<Executable> path) {
+        return compileSource(executable, path, null);
+    }
+
+    private CompilationModellingResult compileSource(Executable executable, Set<Executable> path,
+                                                     Map<String, ExecutionPlan> executionPlans) {
         List<RuntimeException> exceptions = new ArrayList<>();
-        Map<String, Executable> filteredDependencies = new HashMap<>();
-        //we handle dependencies only if the file has imports
-        boolean hasDependencies = CollectionUtils.isNotEmpty(executable.getExecutableDependencies()) &&
-                executable.getType().equals(SlangTextualKeys.FLOW_TYPE);
-        if (hasDependencies) {
-            try {
-                Validate.notEmpty(path, "Source " + executable.getName() +
-                        " has dependencies but no path was given to the compiler");
-                Validate.noNullElements(path, "Source " + executable.getName() + " has empty dependencies");
-            } catch (RuntimeException ex) {
-                exceptions.add(ex);
-            }
+        if (!hasDependencies(executable)) {
+            return compileSource(executable, exceptions, null, executionPlans);
+        }
+        try {
+            Validate.notEmpty(path, "Source " + executable.getName() +
+                    " has dependencies but no path was given to the compiler");
+            Validate.noNullElements(path, "Source " + executable.getName() + " has empty dependencies");
+        } catch (RuntimeException ex) {
+            exceptions.add(ex);
+        }
 
-            //we add the current executable since a dependency can require it
-            List<Executable> availableExecutables = new ArrayList<>(path);
-            availableExecutables.add(executable);
+        //we add the current executable since a dependency can require it
+        List<Executable> availableExecutables = new ArrayList<>(path);
+        availableExecutables.add(executable);
+        return compileSource(executable, exceptions,
+                () -> dependenciesHelper.matchReferences(executable, availableExecutables), executionPlans);
+    }
 
+    @Override
+    public CompilationModellingResult compileSource(Executable executable,
+                                                    Map<String, Executable> availableExecutables) {
+        List<RuntimeException> exceptions = new ArrayList<>();
+        if (!hasDependencies(executable)) {
+            return compileSource(executable, exceptions, null, null);
+        }
+        try {
+            Validate.notEmpty(availableExecutables, "Source " + executable.getName() +
+                    " has dependencies but no path was given to the compiler");
+        } catch (RuntimeException ex) {
+            exceptions.add(ex);
+        }
+        return compileSource(executable, exceptions,
+                () -> dependenciesHelper.matchReferences(executable, availableExecutables), null);
+    }
+
+    //we handle dependencies only if the file has imports
+    private boolean hasDependencies(Executable executable) {
+        return CollectionUtils.isNotEmpty(executable.getExecutableDependencies()) &&
+                executable.getType().equals(SlangTextualKeys.FLOW_TYPE);
+    }
+
+    private CompilationModellingResult compileSource(Executable executable, List<RuntimeException> exceptions,
+                                                     Supplier<Map<String, Executable>> referencesMatcher,
+                                                     Map<String, ExecutionPlan> executionPlans) {
+        Map<String, Executable> filteredDependencies = new HashMap<>();
+        if (referencesMatcher != null) {
             try {
                 //than we match the references to the actual dependencies
-                filteredDependencies = dependenciesHelper.matchReferences(executable, availableExecutables);
+                filteredDependencies = referencesMatcher.get();
 
                 handleOnFailureCustomResults(executable, filteredDependencies);
 
@@ -89,7 +151,6 @@ public class ScoreCompilerImpl implements ScoreCompiler {
             } catch (RuntimeException ex) {
                 exceptions.add(ex);
             }
-
         }
 
         try {
@@ -100,7 +161,11 @@ public class ScoreCompilerImpl implements ScoreCompiler {
             Converter<Executable, ExecutionPlan> converter = new Converter<Executable, ExecutionPlan>() {
                 @Override
                 public ExecutionPlan convert(Executable compiledExecutable) {
-                    return compileToExecutionPlan(compiledExecutable);
+                    if (executionPlans == null) {
+                        return getDependencyExecutionPlan(compiledExecutable);
+                    }
+                    return executionPlans.computeIfAbsent(compiledExecutable.getId(),
+                            id -> getDependencyExecutionPlan(compiledExecutable));
                 }
             };
             Map<String, ExecutionPlan> dependencies = convertMap(filteredDependencies, converter);
@@ -132,10 +197,16 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         Step onFailureStep = getOnFailureStep(executable);
         if (onFailureStep != null) {
             Executable onFailureDependency = filteredDependencies.get(onFailureStep.getRefId());
-            for (Result result : onFailureDependency.getResults()) {
-                Map<String, Serializable> navigationString = new HashMap<>();
-                navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
-                onFailureStep.getNavigationStrings().add(navigationString);
+            // the models may be shared by compilations running concurrently and are compiled more than once,
+            // so the navigations are added once and under a lock; a compilation reads them only after this
+            synchronized (onFailureStep) {
+                for (Result result : onFailureDependency.getResults()) {
+                    Map<String, Serializable> navigationString = new HashMap<>();
+                    navigationString.put(result.getName(), ScoreLangConstants.FAILURE_RESULT);
+                    if (!onFailureStep.getNavigationStrings().contains(navigationString)) {
+                        onFailureStep.getNavigationStrings().add(navigationString);
+                    }
+                }
             }
         }
     }
@@ -157,7 +228,32 @@ public class ScoreCompilerImpl implements ScoreCompiler {
         for (Executable dependency : directDependenciesModels) {
             dependenciesMap.put(dependency.getId(), dependency);
         }
-        return compileValidator.validateModelWithDirectDependencies(slangModel, dependenciesMap);
+        return validateSlangModelWithDirectDependencies(slangModel, dependenciesMap);
+    }
+
+    @Override
+    public List<RuntimeException> validateSlangModelWithDirectDependencies(
+            Executable slangModel,
+            Map<String, Executable> availableExecutables) {
+        return compileValidator.validateModelWithDirectDependencies(slangModel, availableExecutables);
+    }
+
+    /**
+     * The plan of the compiled executable itself is never cached: its subflows are set per compilation.
+     * Neither is the plan of a flow dependency: its on_failure navigations are completed by every compilation
+     * according to the dependencies it resolved, see {@link #handleOnFailureCustomResults(Executable, Map)}.
+     */
+    private ExecutionPlan getDependencyExecutionPlan(Executable dependency) {
+        if (SlangTextualKeys.FLOW_TYPE.equals(dependency.getType())) {
+            return compileToExecutionPlan(dependency);
+        }
+        ExecutionPlan executionPlan = executionPlanCache.getIfPresent(dependency);
+        if (executionPlan == null) {
+            // planned twice at worst when requested concurrently, either plan is valid
+            executionPlan = compileToExecutionPlan(dependency);
+            executionPlanCache.put(dependency, executionPlan);
+        }
+        return executionPlan;
     }
 
     /**
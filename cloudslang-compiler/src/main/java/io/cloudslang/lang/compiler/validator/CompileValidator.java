@@ -11,6 +11,7 @@ package io.cloudslang.lang.compiler.validator;
 
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.List;
 import java.util.Map;
@@ -27,4 +28,8 @@ public interface CompileValidator {
                                                           SlangSource currentSource,
                                                           Map<Executable, SlangSource> allAvailableExecutables);
 
+    List<RuntimeException> validateNoDuplicateExecutables(Executable currentExecutable,
+                                                          SlangSource currentSource,
+                                                          List<Pair<Executable, SlangSource>> availableExecutables);
+
 }
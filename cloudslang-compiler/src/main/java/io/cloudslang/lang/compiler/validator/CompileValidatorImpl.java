@@ -25,6 +25,7 @@ import io.cloudslang.lang.entities.utils.InputUtils;
 import io.cloudslang.lang.entities.utils.ListUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.python.google.common.collect.Lists;
 
 import java.io.Serializable;
@@ -108,6 +109,21 @@ public class CompileValidatorImpl extends AbstractValidator implements CompileVa
         return errors;
     }
 
+    @Override
+    public List<RuntimeException> validateNoDuplicateExecutables(
+            Executable currentExecutable,
+            SlangSource currentSource,
+            List<Pair<Executable, SlangSource>> availableExecutables) {
+        List<RuntimeException> errors = new ArrayList<>();
+        for (Pair<Executable, SlangSource> pair : availableExecutables) {
+            if (currentExecutable.getId().equalsIgnoreCase(pair.getLeft().getId()) &&
+                    !currentSource.equals(pair.getRight())) {
+                errors.add(new RuntimeException(String.format(DUPLICATE_EXECUTABLE_FOUND, currentExecutable.getId())));
+            }
+        }
+        return errors;
+    }
+
     private List<RuntimeException> validateStepAgainstItsDependency(Flow flow, Step step,
                                                                     Map<String, Executable> dependencies) {
         List<RuntimeException> errors = new ArrayList<>();
@@ -29,9 +29,11 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -425,44 +427,41 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
         }
     }
 
+    /**
+     * Walks the navigations depth first from the given step, in the same order as a recursion over the
+     * navigations would, with an explicit stack so the depth of the flow graph is not limited by the call stack.
+     */
     private void validateNavigation(
-            Step currentStep,
+            Step firstStep,
             Deque<Step> steps,
             List<String> resultNames,
             Set<String> reachableStepNames,
             Set<String> reachableResultNames,
             List<RuntimeException> errors) {
-        validateNavigation(
-                currentStep,
-                steps,
-                resultNames,
-                reachableStepNames,
-                reachableResultNames,
-                errors,
-                new ArrayList<>()
-        );
-    }
-
-    private void validateNavigation(
-            Step currentStep,
-            Deque<Step> steps,
-            List<String> resultNames,
-            Set<String> reachableStepNames,
-            Set<String> reachableResultNames,
-            List<RuntimeException> errors,
-            List<String> stepResultCollisionNames) {
-        String currentStepName = currentStep.getName();
-        reachableStepNames.add(currentStepName);
-        for (Map<String, Serializable> map : currentStep.getNavigationStrings()) {
-            Map.Entry<String, Serializable> entry = map.entrySet().iterator().next();
+        Map<String, Step> stepsByName = new HashMap<>();
+        for (Step step : steps) {
+            stepsByName.putIfAbsent(step.getName(), step);
+        }
+        Set<String> resultNameSet = new HashSet<>(resultNames);
+        Set<String> stepResultCollisionNames = new HashSet<>();
+
+        Deque<NavigationFrame> pendingFrames = new ArrayDeque<>();
+        reachableStepNames.add(firstStep.getName());
+        pendingFrames.push(new NavigationFrame(firstStep));
+        while (!pendingFrames.isEmpty()) {
+            NavigationFrame currentFrame = pendingFrames.peek();
+            if (!currentFrame.navigations.hasNext()) {
+                pendingFrames.pop();
+                continue;
+            }
+            Map.Entry<String, Serializable> entry = currentFrame.navigations.next().entrySet().iterator().next();
             String navigationTarget = getNavigationStepName(entry.getValue());
 
-            boolean isResult = resultNames.contains(navigationTarget);
-            Step nextStepToCompile = selectNextStepToCompile(steps, navigationTarget);
+            boolean isResult = resultNameSet.contains(navigationTarget);
+            Step nextStepToCompile = stepsByName.get(navigationTarget);
             boolean isStep = nextStepToCompile != null;
 
-            if (isStep && isResult && !stepResultCollisionNames.contains(navigationTarget)) {
-                stepResultCollisionNames.add(navigationTarget);
+            if (isStep && isResult && stepResultCollisionNames.add(navigationTarget)) {
                 errors.add(
                         new RuntimeException(
                                 "Navigation target: '" + navigationTarget +
@@ -475,19 +474,12 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
             }
             if (!isProcessed(navigationTarget, isStep, reachableStepNames, reachableResultNames)) {
                 if (isStep) {
-                    validateNavigation(
-                            nextStepToCompile,
-                            steps,
-                            resultNames,
-                            reachableStepNames,
-                            reachableResultNames,
-                            errors,
-                            stepResultCollisionNames
-                    );
+                    reachableStepNames.add(navigationTarget);
+                    pendingFrames.push(new NavigationFrame(nextStepToCompile));
                 } else if (!isResult) {
                     errors.add(
                             new RuntimeException(
-                                    "Failed to compile step: " + currentStepName +
+                                    "Failed to compile step: " + currentFrame.step.getName() +
                                             ". The step/result name: " + entry.getValue() +
                                             " of navigation: " + entry.getKey() + " -> " + entry.getValue() +
                                             " is missing"
@@ -498,15 +490,6 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
         }
     }
 
-    private Step selectNextStepToCompile(Deque<Step> steps, String navigationTarget) {
-        for (Step step : steps) {
-            if (org.apache.commons.lang.StringUtils.equals(step.getName(), navigationTarget)) {
-                return step;
-            }
-        }
-        return null;
-    }
-
     private boolean isProcessed(
             String navigationTarget,
             boolean pointsToStep,
@@ -587,4 +570,15 @@ public class PreCompileValidatorImpl extends AbstractValidator implements PreCom
     public void setExecutableValidator(ExecutableValidator executableValidator) {
         this.executableValidator = executableValidator;
     }
+
+    private static class NavigationFrame {
+
+        private final Step step;
+        private final Iterator<Map<String, Serializable>> navigations;
+
+        private NavigationFrame(Step step) {
+            this.step = step;
+            this.navigations = step.getNavigationStrings().iterator();
+        }
+    }
 }
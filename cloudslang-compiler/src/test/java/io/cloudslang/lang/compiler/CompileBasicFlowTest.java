@@ -11,6 +11,7 @@ package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.result.CompilationModellingResult;
 import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.entities.ResultNavigation;
 import io.cloudslang.lang.entities.ScoreLangConstants;
@@ -22,6 +23,10 @@ import io.cloudslang.score.api.ExecutionPlan;
 import io.cloudslang.score.api.ExecutionStep;
 
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -29,7 +34,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
@@ -49,6 +56,9 @@ public class CompileBasicFlowTest {
     @Autowired
     private SlangCompiler compiler;
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testCompileFlowBasic() throws Exception {
         URI flow = getClass().getResource("/basic_flow.yaml").toURI();
@@ -64,6 +74,75 @@ public class CompileBasicFlowTest {
         assertEquals("the inputs size is not as expected", 3, compilationArtifact.getInputs().size());
     }
 
+    @Test
+    public void testDependencyExecutionPlansAreShared() throws Exception {
+        SlangSource flow = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+
+        CompilationArtifact first = compiler.compile(flow, path, PrecompileStrategy.WITH_CACHE);
+        CompilationArtifact second = compiler.compile(flow, path, PrecompileStrategy.WITH_CACHE);
+        CompilationArtifact withoutCache = compiler.compile(flow, path);
+
+        ExecutionPlan operationPlan = first.getDependencies().values().iterator().next();
+        Assert.assertSame(operationPlan, second.getDependencies().values().iterator().next());
+        Assert.assertNotSame(first.getExecutionPlan(), second.getExecutionPlan());
+        Assert.assertNotSame(operationPlan, withoutCache.getDependencies().values().iterator().next());
+    }
+
+    @Test
+    public void testFlowDependencyExecutionPlansAreNotShared() throws Exception {
+        SlangSource flow = SlangSource.fromFile(
+                getClass().getResource("/circular-dependencies/parent_flow.yaml").toURI());
+        Set<SlangSource> path = new HashSet<>();
+        path.add(SlangSource.fromFile(getClass().getResource("/circular-dependencies/child_flow.yaml").toURI()));
+        path.add(SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()));
+
+        CompilationArtifact first = compiler.compile(flow, path, PrecompileStrategy.WITH_CACHE);
+        CompilationArtifact second = compiler.compile(flow, path, PrecompileStrategy.WITH_CACHE);
+
+        Assert.assertNotSame(first.getDependencies().get("user.flows.circular.child_flow"),
+                second.getDependencies().get("user.flows.circular.child_flow"));
+        Assert.assertSame(first.getDependencies().get("user.ops.test_op"),
+                second.getDependencies().get("user.ops.test_op"));
+    }
+
+    @Test
+    public void testCompileSourcesBatch() throws Exception {
+        SlangSource flow = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        SlangSource operation = SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI());
+        List<SlangSource> sources = Arrays.asList(flow, operation);
+
+        List<CompilationModellingResult> results = compiler.compileSources(sources, PrecompileStrategy.WITHOUT_CACHE);
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).getErrors().size());
+        assertEquals(0, results.get(1).getErrors().size());
+        CompilationArtifact flowArtifact = results.get(0).getCompilationArtifact();
+        assertEquals("basic_flow", flowArtifact.getExecutionPlan().getName());
+        assertEquals(6, flowArtifact.getExecutionPlan().getSteps().size());
+        assertEquals(1, flowArtifact.getDependencies().size());
+        assertEquals(0, results.get(1).getCompilationArtifact().getDependencies().size());
+    }
+
+    @Test
+    public void testCompileSourcesReportsIdenticalFilesAtDifferentPaths() throws Exception {
+        Path operation = Paths.get(getClass().getResource("/test_op.sl").toURI());
+        Path directory = temporaryFolder.getRoot().toPath();
+        Path first = Files.copy(operation, Files.createDirectory(directory.resolve("first")).resolve("test_op.sl"));
+        Path second = Files.copy(operation, Files.createDirectory(directory.resolve("second")).resolve("test_op.sl"));
+        List<SlangSource> sources = Arrays.asList(SlangSource.fromFile(first.toFile()),
+                SlangSource.fromFile(second.toFile()));
+
+        List<CompilationModellingResult> results = compiler.compileSources(sources, PrecompileStrategy.WITH_CACHE);
+
+        assertEquals(2, results.size());
+        for (CompilationModellingResult result : results) {
+            assertEquals(1, result.getErrors().size());
+            assertEquals("Duplicate executable found: 'user.ops.test_op'", result.getErrors().get(0).getMessage());
+        }
+    }
+
     @Test
     public void testCompileFlowWithData() throws Exception {
         URI flow = getClass().getResource("/flow_with_data.yaml").toURI();
@@ -10,6 +10,7 @@
 package io.cloudslang.lang.compiler;
 
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import io.cloudslang.lang.compiler.validator.PreCompileValidator;
 import io.cloudslang.lang.compiler.validator.PreCompileValidatorImpl;
@@ -21,6 +22,7 @@ import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -71,6 +73,27 @@ public class PreCompilerErrorsTest {
         throw result.getErrors().get(0);
     }
 
+    @Test
+    public void testPreCompileSourcesKeepsSourceOrder() throws Exception {
+        List<SlangSource> sources = Arrays.asList(
+                SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI()),
+                SlangSource.fromFile(getClass().getResource("/corrupted/op_with_action_and_workflow.sl").toURI()),
+                SlangSource.fromFile(getClass().getResource("/test_op.sl").toURI()),
+                SlangSource.fromFile(getClass().getResource("/corrupted/op_without_namespace.sl").toURI()));
+
+        List<ExecutableModellingResult> results = compiler.preCompileSources(sources);
+
+        assertEquals(4, results.size());
+        assertEquals("basic_flow", results.get(0).getExecutable().getName());
+        assertEquals(0, results.get(0).getErrors().size());
+        assertEquals("Conflicting keys[workflow, python_action] at: op_with_action_and_workflow",
+                results.get(1).getErrors().get(0).getMessage());
+        assertEquals("test_op", results.get(2).getExecutable().getName());
+        assertEquals(0, results.get(2).getErrors().size());
+        assertEquals("For source[op_without_namespace.sl] namespace cannot be empty.",
+                results.get(3).getErrors().get(0).getMessage());
+    }
+
     @Test(expected = RuntimeException.class)
     public void testFlowWithMissingName() throws Exception {
         URI resource = getClass().getResource("/corrupted/missing_name_flow.sl").toURI();
@@ -663,6 +686,32 @@ public class PreCompilerErrorsTest {
         throw result.getErrors().get(0);
     }
 
+    @Test
+    public void testFlowWithLongNavigationChain() throws Exception {
+        int numberOfSteps = 5000;
+        StringBuilder flow = new StringBuilder("namespace: io.cloudslang\n\n" +
+                "flow:\n" +
+                "  name: long_flow\n" +
+                "  workflow:\n");
+        for (int index = 0; index < numberOfSteps; index++) {
+            String nextStep = index == numberOfSteps - 1 ? "SUCCESS" : "step_" + (index + 1);
+            flow.append("    - step_").append(index).append(":\n")
+                    .append("        do:\n")
+                    .append("          user.ops.test_op: []\n")
+                    .append("        navigate:\n")
+                    .append("          - SUCCESS: ").append(nextStep).append("\n")
+                    .append("          - FAILURE: FAILURE\n");
+        }
+        flow.append("  results:\n" +
+                "    - SUCCESS\n" +
+                "    - FAILURE\n");
+
+        ExecutableModellingResult result = compiler.preCompileSource(new SlangSource(flow.toString(), "long_flow.sl"));
+
+        assertEquals(0, result.getErrors().size());
+        assertEquals(numberOfSteps, ((Flow) result.getExecutable()).getWorkflow().getSteps().size());
+    }
+
     @Test
     public void testFlowBothResultAndStepNameAfter() throws Exception {
         URI resource = getClass().getResource("/corrupted/flow_name_step_result_after.sl").toURI();
@@ -11,8 +11,15 @@ package io.cloudslang.lang.compiler.caching;
 
 import com.google.common.cache.Cache;
 import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import junit.framework.Assert;
 import org.apache.commons.lang3.tuple.MutablePair;
 import org.junit.Test;
@@ -26,6 +33,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
+import static io.cloudslang.lang.compiler.caching.CacheValueState.MISSING;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.OUTDATED;
 import static io.cloudslang.lang.compiler.caching.CacheValueState.VALID;
 import static org.junit.Assert.assertEquals;
@@ -54,6 +62,7 @@ import static org.mockito.Mockito.verify;
 public class CachedPrecompileServiceImplTest {
 
     public static final String CACHE = "cache";
+    private static final String CACHE_KEY = "digest:null:op.sl";
     @Spy
     @InjectMocks
     private CachedPrecompileServiceImpl cachedPrecompileServiceImpl;
@@ -66,6 +75,8 @@ public class CachedPrecompileServiceImplTest {
         String myPath = "aaa";
         ExecutableModellingResult executableModellingResult = mock(ExecutableModellingResult.class);
         SlangSource slangSource = mock(SlangSource.class);
+        doReturn("digest").when(slangSource).getDigest();
+        doReturn("op.sl").when(slangSource).getName();
 
         final MutablePair<CacheValue, Boolean> pair = new MutablePair<>();
         doAnswer(new Answer() {
@@ -78,7 +89,7 @@ public class CachedPrecompileServiceImplTest {
 
         // Tested call
         cachedPrecompileServiceImpl.cacheValue(myPath, executableModellingResult, slangSource);
-        verify(cache).put(eq(myPath), same(pair.getLeft()));
+        verify(cache).put(eq(CACHE_KEY), same(pair.getLeft()));
     }
 
     @Test
@@ -105,6 +116,8 @@ public class CachedPrecompileServiceImplTest {
     public void testGetValueSuccessWithOutdated() {
         final String myPath = "bb";
         final SlangSource slangSource = mock(SlangSource.class);
+        doReturn("digest").when(slangSource).getDigest();
+        doReturn("op.sl").when(slangSource).getName();
         SlangSource cachedSlangSource = mock(SlangSource.class);
 
         CacheValue mockCacheValue = mock(CacheValue.class);
@@ -118,7 +131,8 @@ public class CachedPrecompileServiceImplTest {
         final CacheResult valueFromCache = cachedPrecompileServiceImpl.getValueFromCache(myPath, slangSource);
 
         InOrder inOrder = Mockito.inOrder(cache, cachedPrecompileServiceImpl);
-        inOrder.verify(cache).getIfPresent(eq(myPath));
+        inOrder.verify(cachedPrecompileServiceImpl).getCacheKey(eq(slangSource));
+        inOrder.verify(cache).getIfPresent(eq(CACHE_KEY));
         inOrder.verify(cachedPrecompileServiceImpl)
                 .hasChangedSinceCached(eq(slangSource), eq(cachedSlangSource));
         inOrder.verifyNoMoreInteractions();
@@ -132,6 +146,8 @@ public class CachedPrecompileServiceImplTest {
     public void testGetValueSuccessWithValid() {
         final String myPath = "cc";
         final SlangSource slangSource = mock(SlangSource.class);
+        doReturn("digest").when(slangSource).getDigest();
+        doReturn("op.sl").when(slangSource).getName();
         SlangSource cachedSlangSource = mock(SlangSource.class);
 
         CacheValue mockCacheValue = mock(CacheValue.class);
@@ -147,7 +163,8 @@ public class CachedPrecompileServiceImplTest {
         final CacheResult valueFromCache = cachedPrecompileServiceImpl.getValueFromCache(myPath, slangSource);
 
         InOrder inOrder = Mockito.inOrder(cache, cachedPrecompileServiceImpl);
-        inOrder.verify(cache).getIfPresent(eq(myPath));
+        inOrder.verify(cachedPrecompileServiceImpl).getCacheKey(eq(slangSource));
+        inOrder.verify(cache).getIfPresent(eq(CACHE_KEY));
         inOrder.verify(cachedPrecompileServiceImpl)
                 .hasChangedSinceCached(eq(slangSource), eq(cachedSlangSource));
         inOrder.verifyNoMoreInteractions();
@@ -159,22 +176,96 @@ public class CachedPrecompileServiceImplTest {
     @Test
     public void testInvalidateEntryWithRealPath() {
         String myPath = "invalidatepath";
-        doNothing().when(cache).invalidate(anyString());
+        SlangSource slangSource = mock(SlangSource.class);
+        doReturn(myPath).when(slangSource).getFilePath();
+        SlangSource otherSlangSource = mock(SlangSource.class);
+        doReturn("otherpath").when(otherSlangSource).getFilePath();
+        ConcurrentMap<String, CacheValue> entries = new ConcurrentHashMap<>();
+        entries.put("key", new CacheValue(slangSource, null));
+        entries.put("otherKey", new CacheValue(otherSlangSource, null));
+        doReturn(entries).when(cache).asMap();
 
         // Tested call
         cachedPrecompileServiceImpl.invalidateEntry(myPath);
 
-        verify(cache).invalidate(eq(myPath));
+        assertEquals(1, entries.size());
+        assertSame(otherSlangSource, entries.get("otherKey").getSource());
     }
 
     @Test
     public void testInvalidateEntryWithNullPath() {
-        doNothing().when(cache).invalidate(anyString());
-
         // Tested call
         cachedPrecompileServiceImpl.invalidateEntry(null);
 
-        verify(cache, never()).invalidate(anyString());
+        verify(cache, never()).asMap();
+    }
+
+    @Test
+    public void testIdenticalSourcesShareEntry() {
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        cachedPrecompileService.init();
+        ExecutableModellingResult executableModellingResult = mock(ExecutableModellingResult.class);
+        SlangSource slangSource = new SlangSource("namespace: a", "op.sl");
+
+        cachedPrecompileService.cacheValue("a/op.sl", executableModellingResult, slangSource);
+
+        CacheResult identical = cachedPrecompileService
+                .getValueFromCache("b/op.sl", new SlangSource("namespace: a", "op.sl"));
+        assertEquals(VALID, identical.getState());
+        assertSame(executableModellingResult, identical.getExecutableModellingResult());
+        assertEquals(MISSING, cachedPrecompileService
+                .getValueFromCache("a/op.sl", new SlangSource("namespace: b", "op.sl")).getState());
+        assertEquals(MISSING, cachedPrecompileService
+                .getValueFromCache("a/op.sl", new SlangSource("namespace: a", "other_op.sl")).getState());
+    }
+
+    @Test
+    public void testInvalidateEntryCachedForIdenticalFile() {
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        cachedPrecompileService.init();
+        SlangSource slangSource = new SlangSource("namespace: ns", "op.sl");
+        cachedPrecompileService.cacheValue("a/op.sl", mockModellingResult("ns.op"), slangSource);
+        assertEquals(VALID, cachedPrecompileService
+                .getValueFromCache("b/op.sl", new SlangSource("namespace: ns", "op.sl")).getState());
+
+        // Tested call
+        cachedPrecompileService.invalidateEntry("b/op.sl");
+
+        assertEquals(MISSING, cachedPrecompileService
+                .getValueFromCache("b/op.sl", new SlangSource("namespace: ns", "op.sl")).getState());
+    }
+
+    @Test
+    public void testEvictedDependentIsStillAffected() throws Exception {
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        cachedPrecompileService.init();
+        SlangSource opSource = new SlangSource("namespace: ns", "op.sl");
+        SlangSource flowSource = new SlangSource("namespace: ns", "flow.sl");
+        cachedPrecompileService.cacheValue("op.sl", mockModellingResult("ns.op"), opSource);
+        cachedPrecompileService.cacheValue("flow.sl", mockModellingResult("ns.flow", "ns.op"), flowSource);
+
+        Field cacheField = CachedPrecompileServiceImpl.class.getDeclaredField(CACHE);
+        cacheField.setAccessible(true);
+        @SuppressWarnings("unchecked")
+        Cache<String, CacheValue> internalCache = (Cache<String, CacheValue>) cacheField
+                .get(cachedPrecompileService);
+        internalCache.invalidate(cachedPrecompileService.getCacheKey(flowSource));
+
+        assertEquals(new HashSet<>(Arrays.asList("op.sl", "flow.sl")),
+                cachedPrecompileService.getAffectedPaths(Collections.singletonList("op.sl")));
+    }
+
+    @Test
+    public void testHasChangedSinceCached() {
+        CachedPrecompileServiceImpl cachedPrecompileService = new CachedPrecompileServiceImpl();
+        SlangSource slangSource = new SlangSource("namespace: a", "op.sl");
+
+        Assert.assertFalse(cachedPrecompileService
+                .hasChangedSinceCached(slangSource, new SlangSource("namespace: a", "op.sl")));
+        Assert.assertTrue(cachedPrecompileService
+                .hasChangedSinceCached(slangSource, new SlangSource("namespace: b", "op.sl")));
+        Assert.assertTrue(cachedPrecompileService
+                .hasChangedSinceCached(slangSource, new SlangSource("namespace: a", "other_op.sl")));
     }
 
     @Test
@@ -217,4 +308,11 @@ public class CachedPrecompileServiceImplTest {
         Assert.assertNotNull(internalCache);
     }
 
+    private ExecutableModellingResult mockModellingResult(String id, String... dependencies) {
+        Executable executable = mock(Executable.class);
+        doReturn(id).when(executable).getId();
+        doReturn(new HashSet<>(Arrays.asList(dependencies))).when(executable).getExecutableDependencies();
+        return new ExecutableModellingResult(executable, new ArrayList<>());
+    }
+
 }
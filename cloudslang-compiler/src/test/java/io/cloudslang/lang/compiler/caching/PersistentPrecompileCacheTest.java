@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.SlangCompiler;
+import io.cloudslang.lang.compiler.SlangSource;
+import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = SlangCompilerSpringConfig.class)
+public class PersistentPrecompileCacheTest {
+
+    private static final String CACHE_KEY = "digest:SL:basic_flow.yaml";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Autowired
+    private SlangCompiler compiler;
+
+    @Test
+    public void testWrittenExecutableIsReadByAnotherStore() throws Exception {
+        SlangSource source = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Executable executable = compiler.preCompile(source);
+        Path baseDirectory = folder.getRoot().toPath();
+
+        new PersistentPrecompileCache(baseDirectory, "version1").write(CACHE_KEY, source, executable);
+        Executable persisted = new PersistentPrecompileCache(baseDirectory, "version1").read(CACHE_KEY, source);
+
+        assertEquals(executable, persisted);
+        assertEquals(executable.getId(), persisted.getId());
+        assertEquals(((Flow) executable).getWorkflow().getSteps().size(),
+                ((Flow) persisted).getWorkflow().getSteps().size());
+        assertNull(new PersistentPrecompileCache(baseDirectory, "version1").read("other" + CACHE_KEY, source));
+    }
+
+    @Test
+    public void testOpenUsesItsOwnSubdirectory() throws Exception {
+        Path baseDirectory = folder.getRoot().toPath();
+        File otherData = folder.newFile("other.txt");
+
+        assertNotNull(PersistentPrecompileCache.open(baseDirectory, "version1"));
+
+        assertTrue(getVersionDirectory("version1").toFile().isDirectory());
+        assertTrue(Files.isRegularFile(getVersionDirectory("version1")
+                .resolve(PersistentPrecompileCache.VERSION_MARKER)));
+        assertTrue(otherData.exists());
+        assertNull(PersistentPrecompileCache.open(baseDirectory, null));
+    }
+
+    @Test
+    public void testUnusedOtherVersionIsRemoved() throws Exception {
+        SlangSource source = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Path baseDirectory = folder.getRoot().toPath();
+        new PersistentPrecompileCache(baseDirectory, "version1").write(CACHE_KEY, source, compiler.preCompile(source));
+        long unusedTime = System.currentTimeMillis() -
+                TimeUnit.DAYS.toMillis(PersistentPrecompileCache.RETENTION_DAYS + 1);
+        Files.setLastModifiedTime(getVersionDirectory("version1").resolve(PersistentPrecompileCache.VERSION_MARKER),
+                FileTime.fromMillis(unusedTime));
+
+        PersistentPrecompileCache cache = new PersistentPrecompileCache(baseDirectory, "version2");
+
+        assertFalse(getVersionDirectory("version1").toFile().exists());
+        assertNull(cache.read(CACHE_KEY, source));
+    }
+
+    @Test
+    public void testRecentlyUsedOtherVersionIsKept() throws Exception {
+        SlangSource source = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Path baseDirectory = folder.getRoot().toPath();
+        new PersistentPrecompileCache(baseDirectory, "version1").write(CACHE_KEY, source, compiler.preCompile(source));
+
+        new PersistentPrecompileCache(baseDirectory, "version2");
+
+        assertNotNull(new PersistentPrecompileCache(baseDirectory, "version1").read(CACHE_KEY, source));
+    }
+
+    @Test
+    public void testDirectoryWithoutMarkerIsKept() throws Exception {
+        Path baseDirectory = folder.getRoot().toPath();
+        Path otherDirectory = Files.createDirectories(baseDirectory
+                .resolve(PersistentPrecompileCache.STORE_DIRECTORY).resolve("other"));
+        Files.setLastModifiedTime(otherDirectory, FileTime.fromMillis(0));
+
+        new PersistentPrecompileCache(baseDirectory, "version1");
+
+        assertTrue(otherDirectory.toFile().isDirectory());
+    }
+
+    @Test
+    public void testCorruptedEntryIsAMiss() throws Exception {
+        SlangSource source = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Path baseDirectory = folder.getRoot().toPath();
+        PersistentPrecompileCache cache = new PersistentPrecompileCache(baseDirectory, "version1");
+        cache.write(CACHE_KEY, source, compiler.preCompile(source));
+        File[] entries = getVersionDirectory("version1").toFile().listFiles((dir, name) -> name.endsWith(".bin"));
+        assertEquals(1, entries.length);
+        Files.write(entries[0].toPath(), new byte[] {1, 2, 3});
+
+        assertNull(cache.read(CACHE_KEY, source));
+        assertTrue(getVersionDirectory("version1").toFile().exists());
+        assertFalse(entries[0].exists());
+    }
+
+    @Test
+    public void testOnlyAllowedClassesAreRead() throws Exception {
+        SlangSource source = SlangSource.fromFile(getClass().getResource("/basic_flow.yaml").toURI());
+        Executable executable = compiler.preCompile(source);
+
+        assertEquals(executable, deserialize(serialize(executable)));
+        try {
+            deserialize(serialize(new URI("http://localhost")));
+            fail("Only the classes of an executable should be read");
+        } catch (InvalidClassException e) {
+            assertTrue(e.getMessage().contains(URI.class.getName()));
+        }
+    }
+
+    private Path getVersionDirectory(String version) {
+        return folder.getRoot().toPath().resolve(PersistentPrecompileCache.STORE_DIRECTORY).resolve(version);
+    }
+
+    private byte[] serialize(Serializable serializable) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(outputStream)) {
+            objectOutputStream.writeObject(serializable);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream objectInputStream = new PersistentPrecompileCache.AllowListObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            return objectInputStream.readObject();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.compiler.caching;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class ReverseDependencyGraphTest {
+
+    private ReverseDependencyGraph graph;
+
+    @Before
+    public void setUp() {
+        graph = new ReverseDependencyGraph();
+        graph.update("op.sl", "op", mockExecutable("ns.op"));
+        graph.update("other_op.sl", "other_op", mockExecutable("ns.other_op"));
+        graph.update("flow.sl", "flow", mockExecutable("ns.flow", "ns.op"));
+        graph.update("parent_flow.sl", "parent_flow", mockExecutable("ns.parent_flow", "ns.flow", "ns.other_op"));
+    }
+
+    @Test
+    public void testTransitiveDependents() {
+        assertEquals(new HashSet<>(Arrays.asList("op.sl", "flow.sl", "parent_flow.sl")),
+                graph.getAffectedPaths(singletonList("op.sl")));
+        assertEquals(new HashSet<>(Arrays.asList("other_op.sl", "parent_flow.sl")),
+                graph.getAffectedPaths(singletonList("other_op.sl")));
+        assertEquals(Collections.singleton("parent_flow.sl"), graph.getAffectedPaths(singletonList("parent_flow.sl")));
+    }
+
+    @Test
+    public void testUnknownFileIsOnlyItself() {
+        assertEquals(Collections.singleton("new.sl"), graph.getAffectedPaths(singletonList("new.sl")));
+    }
+
+    @Test
+    public void testUpdateReplacesDependencies() {
+        graph.update("flow.sl", "flow", mockExecutable("ns.flow", "ns.other_op"));
+
+        assertEquals(Collections.singleton("op.sl"), graph.getAffectedPaths(singletonList("op.sl")));
+        assertEquals(new HashSet<>(Arrays.asList("other_op.sl", "flow.sl", "parent_flow.sl")),
+                graph.getAffectedPaths(singletonList("other_op.sl")));
+    }
+
+    @Test
+    public void testRemove() {
+        graph.remove("flow.sl");
+
+        assertEquals(Collections.singleton("op.sl"), graph.getAffectedPaths(singletonList("op.sl")));
+    }
+
+    @Test
+    public void testUnresolvedReferenceIsAffectedByNewFile() {
+        graph.update("new_flow.sl", "new_flow", mockExecutable("ns.new_flow", "ns.new_op"));
+
+        assertEquals(new HashSet<>(Arrays.asList("new_op.sl", "new_flow.sl")),
+                graph.getAffectedPaths(singletonList("new_op.sl")));
+    }
+
+    @Test
+    public void testCyclicDependencies() {
+        graph.update("op.sl", "op", mockExecutable("ns.op", "ns.parent_flow"));
+
+        Set<String> affectedPaths = graph.getAffectedPaths(singletonList("flow.sl"));
+
+        assertEquals(new HashSet<>(Arrays.asList("op.sl", "flow.sl", "parent_flow.sl")), affectedPaths);
+        assertEquals("flow.sl", affectedPaths.iterator().next());
+    }
+
+    private Executable mockExecutable(String id, String... dependencies) {
+        Executable executable = mock(Executable.class);
+        doReturn(id).when(executable).getId();
+        doReturn(new HashSet<>(Arrays.asList(dependencies))).when(executable).getExecutableDependencies();
+        return executable;
+    }
+}
@@ -21,9 +21,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -93,4 +95,49 @@ public class DependenciesHelperTest {
         assertEquals(Sets.newHashSet(stepRefId), result);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testMatchReferencesTransitively() throws Exception {
+        Flow parent = mockFlow("a.parent", "a.child", "a.op_01");
+        Flow child = mockFlow("a.child", "a.op_02", "a.parent");
+        Operation operation1 = mockOperation("a.op_01");
+        Operation operation2 = mockOperation("a.op_02");
+        Operation unused = mockOperation("a.unused");
+
+        Map<String, Executable> result = dependenciesHelper.matchReferences(parent,
+                Arrays.<Executable>asList(unused, operation2, child, operation1, parent));
+
+        Map<String, Executable> expected = new HashMap<>();
+        expected.put("a.child", child);
+        expected.put("a.op_01", operation1);
+        expected.put("a.op_02", operation2);
+        expected.put("a.parent", parent);
+        assertEquals(expected, result);
+    }
+
+    @Test
+    public void testMatchReferencesMissingReference() throws Exception {
+        Flow parent = mockFlow("a.parent", "a.child");
+        Flow child = mockFlow("a.child", "a.missing");
+        when(child.getName()).thenReturn("child");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                dependenciesHelper.matchReferences(parent, Arrays.<Executable>asList(parent, child)));
+        assertEquals("Reference: 'a.missing' in executable: 'child', wasn't found in path", exception.getMessage());
+    }
+
+    private Flow mockFlow(String id, String... references) {
+        Flow flow = mock(Flow.class);
+        when(flow.getId()).thenReturn(id);
+        when(flow.getType()).thenReturn(SlangTextualKeys.FLOW_TYPE);
+        when(flow.getExecutableDependencies()).thenReturn(new LinkedHashSet<>(Arrays.asList(references)));
+        return flow;
+    }
+
+    private Operation mockOperation(String id) {
+        Operation operation = mock(Operation.class);
+        when(operation.getId()).thenReturn(id);
+        when(operation.getType()).thenReturn(SlangTextualKeys.OPERATION_TYPE);
+        return operation;
+    }
+
+}
@@ -9,13 +9,14 @@
  *******************************************************************************/
 package io.cloudslang.maven.compiler;
 
+import io.cloudslang.lang.compiler.CompilerConstants;
+import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.configuration.SlangCompilerSpringConfig;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
 import io.cloudslang.lang.compiler.modeller.result.ExecutableModellingResult;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.io.IOUtils;
 import org.codehaus.plexus.compiler.AbstractCompiler;
 import org.codehaus.plexus.compiler.CompilerConfiguration;
 import org.codehaus.plexus.compiler.CompilerException;
@@ -29,20 +30,19 @@ import org.springframework.context.annotation.AnnotationConfigApplicationContext
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptySet;
 
@@ -84,12 +84,22 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
         //and the framework support only one via the inputFileEnding
         config.setSourceFiles(null);
         String[] sourceFiles = getSourceFiles(config);
-        Map<String, byte[]> dependenciesSourceFiles = getDependenciesSourceFiles(config);
         if (sourceFiles.length > 0) {
             System.out.println("Compiling " + sourceFiles.length + " " +
                     "source file" + (sourceFiles.length == 1 ? "" : "s"));
-            for (String sourceFile : sourceFiles) {
-                compilerMessage.addAll(compileFile(sourceFile, sourceFiles, dependenciesSourceFiles));
+            List<ExecutableModellingResult> preCompileResults = preCompileSourceFiles(sourceFiles);
+            // every source and dependency is pre-compiled once, the flows are validated against the shared model
+            Map<String, Executable> availableExecutables = compileWithDependencies &&
+                    hasFlowToValidate(preCompileResults) ?
+                    getAvailableExecutables(config, sourceFiles, preCompileResults) :
+                    Collections.<String, Executable>emptyMap();
+            List<List<CompilerMessage>> compilerMessagesPerFile = IntStream.range(0, sourceFiles.length)
+                    .parallel()
+                    .mapToObj(index -> compileFile(sourceFiles[index],
+                            preCompileResults == null ? null : preCompileResults.get(index), availableExecutables))
+                    .collect(Collectors.toList());
+            for (List<CompilerMessage> fileCompilerMessages : compilerMessagesPerFile) {
+                compilerMessage.addAll(fileCompilerMessages);
             }
 
             if (compilerMessage.size() > 0) {
@@ -112,15 +122,129 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
                 CompilerMessage.Kind.WARNING : CompilerMessage.Kind.ERROR;
     }
 
-    private List<CompilerMessage> compileFile(String sourceFile, String[] sourceFiles,
-                                              Map<String, byte[]> dependenciesSourceFiles) {
-        ExecutableModellingResult executableModellingResult;
+    private List<ExecutableModellingResult> preCompileSourceFiles(String[] sourceFiles) {
+        // the files are pre-compiled in parallel up front; if that fails they are pre-compiled one by one,
+        // which reports the failure for the file that caused it
+        try {
+            List<SlangSource> slangSources = new ArrayList<>(sourceFiles.length);
+            for (String sourceFile : sourceFiles) {
+                slangSources.add(SlangSource.fromFile(new File(sourceFile)));
+            }
+            return slangCompiler.preCompileSources(slangSources, PrecompileStrategy.WITH_CACHE,
+                    CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean hasFlowToValidate(List<ExecutableModellingResult> preCompileResults) {
+        if (preCompileResults == null) {
+            return true;
+        }
+        for (ExecutableModellingResult preCompileResult : preCompileResults) {
+            if (CollectionUtils.isEmpty(preCompileResult.getErrors()) &&
+                    preCompileResult.getExecutable().getType().equals("flow")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Executable> getAvailableExecutables(CompilerConfiguration config, String[] sourceFiles,
+                                                            List<ExecutableModellingResult> preCompileResults)
+            throws CompilerException {
+        Map<String, Executable> availableExecutables = new HashMap<>();
+
+        // the sources of the module come first, they take precedence over copies found in the dependencies
+        for (int index = 0; index < sourceFiles.length; index++) {
+            if (preCompileResults != null) {
+                addExecutable(availableExecutables, preCompileResults.get(index));
+            } else {
+                try {
+                    SlangSource slangSource = SlangSource.fromFile(new File(sourceFiles[index]));
+                    addExecutable(availableExecutables, slangCompiler.preCompileSource(slangSource));
+                } catch (Exception e) {
+                    this.getLogger().warn("Could not compile source: " + sourceFiles[index]);
+                }
+            }
+        }
+
+        try (DependencySourceIndex dependencySourceIndex = DependencySourceIndex.open(config.getClasspathEntries())) {
+            if (!dependencySourceIndex.isEmpty()) {
+                addReferencedDependencies(availableExecutables, dependencySourceIndex);
+            }
+        } catch (IOException e) {
+            throw new CompilerException(e.getMessage(), e);
+        }
+
+        return availableExecutables;
+    }
+
+    private void addReferencedDependencies(Map<String, Executable> availableExecutables,
+                                           DependencySourceIndex dependencySourceIndex) {
+        // flows are validated against their direct dependencies only, so only the sources that may declare
+        // an executable referenced by a flow of the module are read from the jars and pre-compiled
+        Set<String> entryNames = new LinkedHashSet<>();
+        for (Executable executable : availableExecutables.values()) {
+            if (!executable.getType().equals("flow") || executable.getExecutableDependencies() == null) {
+                continue;
+            }
+            for (String dependency : executable.getExecutableDependencies()) {
+                if (!availableExecutables.containsKey(dependency)) {
+                    entryNames.addAll(dependencySourceIndex.getEntryNames(dependency));
+                }
+            }
+        }
+
+        List<String> dependencyNames = new ArrayList<>(entryNames.size());
+        List<SlangSource> dependencySources = new ArrayList<>(entryNames.size());
+        for (String entryName : entryNames) {
+            try {
+                dependencySources.add(dependencySourceIndex.readSource(entryName));
+                dependencyNames.add(entryName);
+            } catch (Exception e) {
+                this.getLogger().warn("Could not compile source: " + entryName);
+            }
+        }
+        List<ExecutableModellingResult> dependencyResults = null;
+        try {
+            dependencyResults = slangCompiler.preCompileSources(dependencySources, PrecompileStrategy.WITH_CACHE,
+                    CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+        } catch (Exception e) {
+            // pre-compiled one by one below, to report the dependencies that can not be compiled
+        }
+        for (int index = 0; index < dependencySources.size(); index++) {
+            if (dependencyResults != null) {
+                addExecutable(availableExecutables, dependencyResults.get(index));
+            } else {
+                try {
+                    addExecutable(availableExecutables, slangCompiler.preCompileSource(dependencySources.get(index)));
+                } catch (Exception e) {
+                    this.getLogger().warn("Could not compile source: " + dependencyNames.get(index));
+                }
+            }
+        }
+    }
+
+    private void addExecutable(Map<String, Executable> availableExecutables,
+                               ExecutableModellingResult modellingResult) {
+        Executable executable = modellingResult.getExecutable();
+        if (executable != null) {
+            availableExecutables.putIfAbsent(executable.getId(), executable);
+        }
+    }
+
+    private List<CompilerMessage> compileFile(String sourceFile, ExecutableModellingResult preCompileResult,
+                                              Map<String, Executable> availableExecutables) {
+        ExecutableModellingResult executableModellingResult = preCompileResult;
         List<CompilerMessage> compilerMessages = new ArrayList<>();
 
 
         try {
-            SlangSource slangSource = SlangSource.fromFile(new File(sourceFile));
-            executableModellingResult = slangCompiler.preCompileSource(slangSource);
+            if (executableModellingResult == null) {
+                SlangSource slangSource = SlangSource.fromFile(new File(sourceFile));
+                executableModellingResult = slangCompiler.preCompileSource(slangSource);
+            }
             if (!CollectionUtils.isEmpty(executableModellingResult.getErrors())) {
                 for (RuntimeException runtimeException : executableModellingResult.getErrors()) {
                     compilerMessages.add(new CompilerMessage(sourceFile + ": " +
@@ -129,7 +253,7 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
             } else {
                 if (compileWithDependencies) {
                     compilerMessages.addAll(validateSlangModelWithDependencies(executableModellingResult,
-                            sourceFiles, dependenciesSourceFiles, sourceFile));
+                            availableExecutables, sourceFile));
                 }
             }
         } catch (Exception e) {
@@ -140,11 +264,9 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
     }
 
     private List<CompilerMessage> validateSlangModelWithDependencies(ExecutableModellingResult modellingResult,
-                                                                     String[] dependencies,
-                                                                     Map<String, byte[]> dependenciesSourceFiles,
+                                                                     Map<String, Executable> availableExecutables,
                                                                      String sourceFile) {
         List<CompilerMessage> compilerMessages = new ArrayList<>();
-        Set<Executable> dependenciesExecutables = new HashSet<>();
 
         Executable executable = modellingResult.getExecutable();
         //we need to verify only flows
@@ -152,28 +274,8 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
             return compilerMessages;
         }
 
-        for (String dependency : dependencies) {
-            try {
-                SlangSource slangSource = SlangSource.fromFile(new File(dependency));
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependency);
-            }
-        }
-
-        for (Map.Entry<String, byte[]> dependencyEntry : dependenciesSourceFiles.entrySet()) {
-            try {
-                SlangSource slangSource = SlangSource.fromBytes(dependencyEntry.getValue(), dependencyEntry.getKey());
-                modellingResult = slangCompiler.preCompileSource(slangSource);
-                dependenciesExecutables.add(modellingResult.getExecutable());
-            } catch (Exception e) {
-                this.getLogger().warn("Could not compile source: " + dependencyEntry.getKey());
-            }
-        }
-
         List<RuntimeException> exceptions = slangCompiler.validateSlangModelWithDirectDependencies(executable,
-                dependenciesExecutables);
+                availableExecutables);
         for (RuntimeException runtimeException : exceptions) {
             compilerMessages.add(new CompilerMessage(sourceFile + ": " + runtimeException.getMessage(), errorLevel));
         }
@@ -195,53 +297,6 @@ public class CloudSlangMavenCompiler extends AbstractCompiler {
         return sources.toArray(new String[sources.size()]);
     }
 
-    private static Map<String, byte[]> getDependenciesSourceFiles(CompilerConfiguration config)
-            throws CompilerException {
-        if (config.getClasspathEntries().isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, byte[]> sources = new HashMap<>();
-        for (String dependency : config.getClasspathEntries()) {
-            try {
-                sources.putAll(getSourceFilesForDependencies(dependency));
-            } catch (IOException e) {
-                throw new CompilerException("Cannot load sources from: " + dependency + ". " + e.getMessage());
-            }
-        }
-
-        return sources;
-    }
-
-    private static Map<String, byte[]> getSourceFilesForDependencies(String dependency) throws IOException {
-        Path path = Paths.get(dependency);
-        if (!Files.exists(path) || !path.toString().toLowerCase().endsWith(".jar")) {
-            return Collections.emptyMap();
-        }
-
-        Map<String, byte[]> sources = new HashMap<>();
-
-        try (JarFile jar = new JarFile(dependency)) {
-            Enumeration enumEntries = jar.entries();
-            while (enumEntries.hasMoreElements()) {
-                JarEntry file = (JarEntry) enumEntries.nextElement();
-                if ((file == null) || (file.isDirectory()) ||
-                        (!file.getName().endsWith(".sl.yaml") &&
-                                !file.getName().endsWith(".sl") && !file.getName().endsWith(".sl.yml"))) {
-                    continue;
-                }
-
-                byte[] bytes;
-                try (InputStream is = jar.getInputStream(file)) {
-                    bytes = IOUtils.toByteArray(is);
-                    sources.put(file.getName(), bytes);
-                }
-            }
-        }
-
-        return sources;
-    }
-
     // we need to override this as it is hard coded java file extensions
     protected static Set<String> getSourceFilesForSourceRoot(CompilerConfiguration config, String sourceLocation) {
         Path path = Paths.get(sourceLocation);
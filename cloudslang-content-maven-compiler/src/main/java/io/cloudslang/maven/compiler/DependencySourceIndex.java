@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.maven.compiler;
+
+import io.cloudslang.lang.compiler.Extension;
+import io.cloudslang.lang.compiler.SlangSource;
+import org.apache.commons.io.IOUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Index of the CloudSlang sources packaged in the dependency jars.
+ * <p>
+ * Only the names of the jar entries are read when the index is built, and the jars are kept open. The content
+ * of an entry is read when an executable it may declare is looked up, so the sources that are not referenced
+ * are never loaded nor parsed. An executable is declared in a file named after it, so the entries are indexed
+ * by their file name without the extension.
+ */
+class DependencySourceIndex implements Closeable {
+
+    private final List<JarFile> jars = new ArrayList<>();
+    // an entry found in several jars is read from the last one, as the classpath is scanned in order
+    private final Map<String, JarFile> jarsByEntryName = new HashMap<>();
+    private final Map<String, Set<String>> entryNamesByExecutableName = new HashMap<>();
+
+    static DependencySourceIndex open(Collection<String> classpathEntries) throws IOException {
+        DependencySourceIndex index = new DependencySourceIndex();
+        try {
+            for (String classpathEntry : classpathEntries) {
+                index.addJar(classpathEntry);
+            }
+        } catch (IOException | RuntimeException e) {
+            index.close();
+            throw e;
+        }
+        return index;
+    }
+
+    private void addJar(String dependency) throws IOException {
+        Path path = Paths.get(dependency);
+        if (!Files.exists(path) || !path.toString().toLowerCase().endsWith(".jar")) {
+            return;
+        }
+
+        JarFile jar;
+        try {
+            jar = new JarFile(dependency);
+        } catch (IOException e) {
+            throw new IOException("Cannot load sources from: " + dependency + ". " + e.getMessage(), e);
+        }
+        jars.add(jar);
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            if (entry.isDirectory() || (!entry.getName().endsWith(".sl.yaml") &&
+                    !entry.getName().endsWith(".sl") && !entry.getName().endsWith(".sl.yml"))) {
+                continue;
+            }
+            jarsByEntryName.put(entry.getName(), jar);
+            entryNamesByExecutableName.computeIfAbsent(getExecutableName(entry.getName()),
+                    name -> new LinkedHashSet<>()).add(entry.getName());
+        }
+    }
+
+    boolean isEmpty() {
+        return jarsByEntryName.isEmpty();
+    }
+
+    /**
+     * @param executableId the id of a referenced executable
+     * @return the names of the entries that may declare the executable
+     */
+    Set<String> getEntryNames(String executableId) {
+        String executableName = executableId.substring(executableId.lastIndexOf('.') + 1);
+        Set<String> entryNames = entryNamesByExecutableName.get(executableName);
+        return entryNames == null ? Collections.<String>emptySet() : entryNames;
+    }
+
+    SlangSource readSource(String entryName) throws IOException {
+        JarFile jar = jarsByEntryName.get(entryName);
+        try (InputStream inputStream = jar.getInputStream(jar.getEntry(entryName))) {
+            return SlangSource.fromBytes(IOUtils.toByteArray(inputStream), entryName);
+        }
+    }
+
+    private static String getExecutableName(String entryName) {
+        return Extension.removeExtension(entryName.substring(entryName.lastIndexOf('/') + 1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException closeException = null;
+        for (JarFile jar : jars) {
+            try {
+                jar.close();
+            } catch (IOException e) {
+                closeException = e;
+            }
+        }
+        jars.clear();
+        if (closeException != null) {
+            throw closeException;
+        }
+    }
+}
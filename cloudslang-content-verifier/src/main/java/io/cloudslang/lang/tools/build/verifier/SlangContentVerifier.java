@@ -10,7 +10,9 @@
 package io.cloudslang.lang.tools.build.verifier;
 
 import io.cloudslang.lang.commons.services.api.SlangCompilationService;
+import io.cloudslang.lang.compiler.CompilerConstants;
 import io.cloudslang.lang.compiler.MetadataExtractor;
+import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.model.Executable;
@@ -22,16 +24,24 @@ import io.cloudslang.lang.entities.CompilationArtifact;
 import io.cloudslang.lang.logging.LoggingService;
 import io.cloudslang.lang.tools.build.validation.MetadataMissingException;
 import io.cloudslang.lang.tools.build.validation.StaticValidator;
+import io.cloudslang.score.api.ExecutionPlan;
 import java.io.File;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import org.apache.commons.lang.Validate;
 import org.apache.logging.log4j.Level;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -61,6 +71,10 @@ public class SlangContentVerifier {
     @Autowired
     private SlangCompilationService slangCompilationService;
 
+    // the pool of the compiler, sized with -Dcslang.compiler.precompileParallelism
+    @Autowired
+    private ForkJoinPool preCompilePool;
+
     public PreCompileResult createModelsAndValidate(String directoryPath, boolean shouldValidateDescription,
                                                     boolean shouldValidateCheckstyle) {
         Validate.notEmpty(directoryPath, "You must specify a path");
@@ -72,7 +86,10 @@ public class SlangContentVerifier {
         loggingService.logEvent(Level.INFO, slangFiles.size() + " .sl files were found");
         loggingService.logEvent(Level.INFO, "");
         Queue<RuntimeException> exceptions = new ArrayDeque<>();
+        List<SlangSource> slangSources = readSlangSources(slangFiles);
+        List<ExecutableModellingResult> preCompileResults = preCompileSources(slangSources);
         String errorMessagePrefixMetadata = "";
+        int index = 0;
         for (File slangFile: slangFiles) {
             Executable sourceModel = null;
             try {
@@ -81,11 +98,17 @@ public class SlangContentVerifier {
                 String errorMessagePrefixCompilation = "Failed to compile file: \'" +
                     slangFile.getAbsoluteFile() + "\'.\n";
 
-                Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() +
-                        "\' must lead to a file");
-                SlangSource slangSource = SlangSource.fromFile(slangFile);
-
-                ExecutableModellingResult preCompileResult = slangCompiler.preCompileSource(slangSource);
+                SlangSource slangSource;
+                ExecutableModellingResult preCompileResult;
+                if (preCompileResults != null) {
+                    slangSource = slangSources.get(index);
+                    preCompileResult = preCompileResults.get(index);
+                } else {
+                    Validate.isTrue(slangFile.isFile(), "file path \'" + slangFile.getAbsolutePath() +
+                            "\' must lead to a file");
+                    slangSource = SlangSource.fromFile(slangFile);
+                    preCompileResult = slangCompiler.preCompileSource(slangSource);
+                }
                 sourceModel = preCompileResult.getExecutable();
                 exceptions.addAll(prependPrefix(preCompileResult.getErrors(), errorMessagePrefixCompilation));
 
@@ -110,6 +133,7 @@ public class SlangContentVerifier {
                     slangModels.put(getUniqueName(sourceModel), sourceModel);
                 }
             }
+            index++;
         }
         if (slangFiles.size() != slangModels.size()) {
             exceptions.add(new RuntimeException("Some Slang files were not pre-compiled.\nFound: " + slangFiles.size() +
@@ -122,6 +146,35 @@ public class SlangContentVerifier {
         return preCompileResult;
     }
 
+    private List<SlangSource> readSlangSources(Collection<File> slangFiles) {
+        List<SlangSource> slangSources = new ArrayList<>(slangFiles.size());
+        for (File slangFile : slangFiles) {
+            if (!slangFile.isFile()) {
+                return null;
+            }
+            try {
+                slangSources.add(SlangSource.fromFile(slangFile));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return slangSources;
+    }
+
+    private List<ExecutableModellingResult> preCompileSources(List<SlangSource> slangSources) {
+        // the files are pre-compiled in parallel up front; if that fails they are pre-compiled one by one,
+        // which reports the failure for the file that caused it
+        if (slangSources == null) {
+            return null;
+        }
+        try {
+            return slangCompiler.preCompileSources(slangSources, PrecompileStrategy.WITH_CACHE,
+                    CompilerConstants.DEFAULT_SENSITIVITY_LEVEL);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     private Collection<RuntimeException> prependPrefix(Collection<RuntimeException> errors, String prefix) {
         List<RuntimeException> result = new ArrayList<>();
         for (RuntimeException ex : errors) {
@@ -137,21 +190,35 @@ public class SlangContentVerifier {
     public CompileResult compileSlangModels(Map<String, Executable> slangModels) {
         CompileResult compileResult = new CompileResult();
         Map<String, CompilationArtifact> compiledArtifacts = new HashMap<>();
-        for (Map.Entry<String, Executable> slangModelEntry : slangModels.entrySet()) {
-            Executable slangModel = slangModelEntry.getValue();
+        List<Executable> modelsToCompile = new ArrayList<>();
+        Set<String> uniqueNames = new HashSet<>();
+        for (Executable slangModel : slangModels.values()) {
+            if (uniqueNames.add(getUniqueName(slangModel))) {
+                modelsToCompile.add(slangModel);
+            }
+        }
+
+        // shared by all the compilations of the run, so a dependency is planned once for all the flows using it
+        Map<String, ExecutionPlan> executionPlans = new ConcurrentHashMap<>();
+        List<Callable<CompilationArtifact>> compilations = new ArrayList<>(modelsToCompile.size());
+        for (Executable slangModel : modelsToCompile) {
+            compilations.add(() -> scoreCompiler.compile(slangModel,
+                    getModelDependenciesRecursively(slangModels, slangModel), executionPlans));
+        }
+        List<Future<CompilationArtifact>> compiledSources = runCompilations(compilations);
+
+        // the results are reported in the order of the models, whichever compilation completed first
+        for (int index = 0; index < modelsToCompile.size(); index++) {
+            Executable slangModel = modelsToCompile.get(index);
             try {
-                CompilationArtifact compiledSource = compiledArtifacts.get(getUniqueName(slangModel));
-                if (compiledSource == null) {
-                    Set<Executable> dependenciesModels = getModelDependenciesRecursively(slangModels, slangModel);
-                    compiledSource = scoreCompiler.compile(slangModel, dependenciesModels);
-                    if (compiledSource != null) {
-                        loggingService.logEvent(Level.INFO, "Compiled: \'" + slangModel.getNamespace() + "." +
-                                slangModel.getName() + "\' successfully");
-                        compiledArtifacts.put(getUniqueName(slangModel), compiledSource);
-                    } else {
-                        loggingService.logEvent(Level.ERROR, "Failed to compile source: \'" +
-                                slangModel.getNamespace() + "." + slangModel.getName() + "\'");
-                    }
+                CompilationArtifact compiledSource = getCompiledSource(compiledSources.get(index));
+                if (compiledSource != null) {
+                    loggingService.logEvent(Level.INFO, "Compiled: \'" + slangModel.getNamespace() + "." +
+                            slangModel.getName() + "\' successfully");
+                    compiledArtifacts.put(getUniqueName(slangModel), compiledSource);
+                } else {
+                    loggingService.logEvent(Level.ERROR, "Failed to compile source: \'" +
+                            slangModel.getNamespace() + "." + slangModel.getName() + "\'");
                 }
             } catch (Exception e) {
                 String errorMessage = "Failed compiling Slang source: \'" + slangModel.getNamespace() + "." +
@@ -165,17 +232,54 @@ public class SlangContentVerifier {
         return compileResult;
     }
 
+    private List<Future<CompilationArtifact>> runCompilations(List<Callable<CompilationArtifact>> compilations) {
+        if (compilations.size() < 2 || preCompilePool.getParallelism() < 2) {
+            List<Future<CompilationArtifact>> compiledSources = new ArrayList<>(compilations.size());
+            for (Callable<CompilationArtifact> compilation : compilations) {
+                FutureTask<CompilationArtifact> compiledSource = new FutureTask<>(compilation);
+                compiledSource.run();
+                compiledSources.add(compiledSource);
+            }
+            return compiledSources;
+        }
+
+        return preCompilePool.invokeAll(compilations);
+    }
+
+    private CompilationArtifact getCompiledSource(Future<CompilationArtifact> compiledSource) throws Exception {
+        try {
+            return compiledSource.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
     private Set<Executable> getModelDependenciesRecursively(Map<String, Executable> slangModels,
                                                             Executable slangModel) {
         Set<Executable> dependenciesModels = new HashSet<>();
-        for (String dependencyName : slangModel.getExecutableDependencies()) {
-            Executable dependency = slangModels.get(dependencyName);
-            if (dependency == null) {
-                throw new RuntimeException("Failed compiling slang source: " + slangModel.getNamespace() + "." +
-                        slangModel.getName() + ". Missing dependency: " + dependencyName);
+        Set<String> visitedModels = new HashSet<>();
+        Deque<Executable> pendingModels = new ArrayDeque<>();
+        pendingModels.push(slangModel);
+        while (!pendingModels.isEmpty()) {
+            Executable model = pendingModels.pop();
+            for (String dependencyName : model.getExecutableDependencies()) {
+                Executable dependency = slangModels.get(dependencyName);
+                if (dependency == null) {
+                    throw new RuntimeException("Failed compiling slang source: " + model.getNamespace() + "." +
+                            model.getName() + ". Missing dependency: " + dependencyName);
+                }
+                dependenciesModels.add(dependency);
+                // a model shared by several paths, or part of a cycle, is expanded once
+                if (visitedModels.add(dependencyName)) {
+                    pendingModels.push(dependency);
+                }
             }
-            dependenciesModels.add(dependency);
-            dependenciesModels.addAll(getModelDependenciesRecursively(slangModels, dependency));
         }
         return dependenciesModels;
     }
@@ -15,6 +15,7 @@ import io.cloudslang.lang.commons.services.api.SlangCompilationService;
 import io.cloudslang.lang.commons.services.api.SlangSourceService;
 import io.cloudslang.lang.commons.services.impl.SlangCompilationServiceImpl;
 import io.cloudslang.lang.compiler.MetadataExtractor;
+import io.cloudslang.lang.compiler.PrecompileStrategy;
 import io.cloudslang.lang.compiler.SlangCompiler;
 import io.cloudslang.lang.compiler.SlangSource;
 import io.cloudslang.lang.compiler.modeller.DependenciesHelper;
@@ -34,6 +35,7 @@ import io.cloudslang.lang.compiler.validator.PreCompileValidatorImpl;
 import io.cloudslang.lang.compiler.validator.SystemPropertyValidator;
 import io.cloudslang.lang.compiler.validator.SystemPropertyValidatorImpl;
 import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.bindings.Input;
 import io.cloudslang.lang.logging.LoggingService;
 import io.cloudslang.lang.logging.LoggingServiceImpl;
@@ -80,6 +82,7 @@ import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -88,6 +91,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.google.common.collect.Lists.newArrayList;
@@ -100,6 +104,7 @@ import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.assertThrows;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
 import static org.mockito.Matchers.anyList;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Matchers.anyMapOf;
@@ -182,6 +187,21 @@ public class SlangBuilderTest {
         reset(slangCompiler);
         reset(scoreCompiler);
         reset(slangTestRunner);
+        // the verifier pre-compiles all the files at once, answer with the per source stubs of the tests
+        when(slangCompiler.preCompileSources(anyCollectionOf(SlangSource.class), eq(PrecompileStrategy.WITH_CACHE),
+                any(SensitivityLevel.class))).thenAnswer(
+                new Answer<List<ExecutableModellingResult>>() {
+                    @Override
+                    public List<ExecutableModellingResult> answer(InvocationOnMock invocationOnMock) {
+                        @SuppressWarnings("unchecked")
+                        Collection<SlangSource> sources = (Collection<SlangSource>) invocationOnMock.getArguments()[0];
+                        List<ExecutableModellingResult> results = new ArrayList<>();
+                        for (SlangSource source : sources) {
+                            results.add(slangCompiler.preCompileSource(source));
+                        }
+                        return results;
+                    }
+                });
     }
 
     @Test
@@ -276,7 +296,8 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(EMPTY_EXECUTABLE, new ArrayList<RuntimeException>()));
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(null, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(EMPTY_EXECUTABLE, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(EMPTY_EXECUTABLE), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
 
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(),
@@ -293,7 +314,8 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(EMPTY_EXECUTABLE, new ArrayList<RuntimeException>()));
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(null, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(EMPTY_EXECUTABLE, new HashSet<Executable>())).thenThrow(new RuntimeException());
+        when(scoreCompiler.compile(eq(EMPTY_EXECUTABLE), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class))).thenThrow(new RuntimeException());
         SlangBuildResults results = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(),
                 null, null, false, false,
                 ALL_SEQUENTIAL, buildMode, changedFiles);
@@ -308,7 +330,8 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(EMPTY_EXECUTABLE, new ArrayList<RuntimeException>()));
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(null, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(EMPTY_EXECUTABLE, new HashSet<Executable>())).thenReturn(null);
+        when(scoreCompiler.compile(eq(EMPTY_EXECUTABLE), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class))).thenReturn(null);
         SlangBuildResults results = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(),
                 null, null, false, false,
                 ALL_SEQUENTIAL, buildMode, changedFiles);
@@ -327,7 +350,8 @@ public class SlangBuilderTest {
                 null, null, null, flowDependencies, SYSTEM_PROPERTY_DEPENDENCIES);
         when(slangCompiler.preCompileSource(any(SlangSource.class)))
                 .thenReturn(new ExecutableModellingResult(newExecutable, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(newExecutable, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(newExecutable), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(EMPTY_METADATA, new ArrayList<RuntimeException>()));
@@ -363,9 +387,11 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(dependencyExecutable, new ArrayList<RuntimeException>()));
         HashSet<Executable> dependencies = new HashSet<>();
         dependencies.add(dependencyExecutable);
-        when(scoreCompiler.compile(emptyFlowExecutable, dependencies))
+        when(scoreCompiler.compile(eq(emptyFlowExecutable), eq(dependencies),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
-        when(scoreCompiler.compile(dependencyExecutable, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(dependencyExecutable), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(EMPTY_METADATA, new ArrayList<RuntimeException>()));
@@ -429,7 +455,8 @@ public class SlangBuilderTest {
                 null, null, null, new HashSet<String>(), SYSTEM_PROPERTY_DEPENDENCIES);
         when(slangCompiler.preCompileSource(any(SlangSource.class)))
                 .thenReturn(new ExecutableModellingResult(executable, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(executable, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(executable), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
         SlangBuildResults buildResults = slangBuilder.buildSlangContent(resource.getPath(), resource.getPath(),
                 null, null, false, false, ALL_SEQUENTIAL, buildMode, changedFiles);
@@ -445,7 +472,8 @@ public class SlangBuilderTest {
                 null, null, null, new HashSet<String>(), SYSTEM_PROPERTY_DEPENDENCIES);
         when(slangCompiler.preCompileSource(any(SlangSource.class)))
                 .thenReturn(new ExecutableModellingResult(executable, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(executable, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(executable), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(EMPTY_METADATA, new ArrayList<RuntimeException>()));
@@ -485,7 +513,8 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(EMPTY_EXECUTABLE, new ArrayList<RuntimeException>()));
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(null, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(EMPTY_EXECUTABLE, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(EMPTY_EXECUTABLE), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
 
         doAnswer(new Answer() {
@@ -517,7 +546,8 @@ public class SlangBuilderTest {
                 .thenReturn(new ExecutableModellingResult(EMPTY_EXECUTABLE, new ArrayList<RuntimeException>()));
         when(metadataExtractor.extractMetadataModellingResult(any(SlangSource.class), eq(false)))
                 .thenReturn(new MetadataModellingResult(null, new ArrayList<RuntimeException>()));
-        when(scoreCompiler.compile(EMPTY_EXECUTABLE, new HashSet<Executable>()))
+        when(scoreCompiler.compile(eq(EMPTY_EXECUTABLE), eq(new HashSet<Executable>()),
+                anyMapOf(String.class, ExecutionPlan.class)))
                 .thenReturn(EMPTY_COMPILATION_ARTIFACT);
 
         doNothing().when(slangTestRunner).runTestsSequential(
@@ -757,6 +787,11 @@ public class SlangBuilderTest {
             return new SlangContentVerifier();
         }
 
+        @Bean(destroyMethod = "shutdown")
+        public ForkJoinPool preCompilePool() {
+            return new ForkJoinPool();
+        }
+
         @Bean
         public SlangTestRunner slangTestRunner() {
             return mock(SlangTestRunner.class);
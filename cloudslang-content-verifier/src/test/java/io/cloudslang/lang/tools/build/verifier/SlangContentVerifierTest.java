@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.tools.build.verifier;
+
+import io.cloudslang.lang.compiler.modeller.model.Executable;
+import io.cloudslang.lang.compiler.modeller.model.Flow;
+import io.cloudslang.lang.compiler.scorecompiler.ScoreCompiler;
+import io.cloudslang.lang.entities.CompilationArtifact;
+import io.cloudslang.lang.logging.LoggingService;
+import io.cloudslang.score.api.ExecutionPlan;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.apache.logging.log4j.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SlangContentVerifierTest {
+
+    private static final Flow SHARED_OPERATION = createModel("shared_op");
+    private static final Flow FIRST_FLOW = createModel("first_flow", "ns.shared_op");
+    private static final Flow SECOND_FLOW = createModel("second_flow", "ns.shared_op");
+    private static final Flow BROKEN_FLOW = createModel("broken_flow", "ns.shared_op");
+
+    @InjectMocks
+    private SlangContentVerifier slangContentVerifier;
+
+    @Mock
+    private ScoreCompiler scoreCompiler;
+
+    @Mock
+    private LoggingService loggingService;
+
+    private ForkJoinPool preCompilePool;
+
+    @Before
+    public void setUp() {
+        preCompilePool = new ForkJoinPool(4);
+        ReflectionTestUtils.setField(slangContentVerifier, "preCompilePool", preCompilePool);
+    }
+
+    @After
+    public void tearDown() {
+        preCompilePool.shutdown();
+    }
+
+    @Test
+    public void testCompileSlangModelsSharesDependencyPlansAndReportsInModelOrder() {
+        when(scoreCompiler.compile(any(Executable.class), anySetOf(Executable.class),
+                anyMapOf(String.class, ExecutionPlan.class))).thenAnswer(new Answer<CompilationArtifact>() {
+                    @Override
+                    public CompilationArtifact answer(InvocationOnMock invocation) throws Throwable {
+                        Executable source = (Executable) invocation.getArguments()[0];
+                        @SuppressWarnings("unchecked")
+                        Set<Executable> path = (Set<Executable>) invocation.getArguments()[1];
+                        @SuppressWarnings("unchecked")
+                        Map<String, ExecutionPlan> executionPlans =
+                                (Map<String, ExecutionPlan>) invocation.getArguments()[2];
+                        if (source == BROKEN_FLOW) {
+                            throw new RuntimeException("broken flow");
+                        }
+                        if (source == FIRST_FLOW) {
+                            // completes after the models following it
+                            Thread.sleep(200);
+                        }
+                        Map<String, ExecutionPlan> dependencies = new HashMap<>();
+                        for (Executable dependency : path) {
+                            dependencies.put(dependency.getId(),
+                                    executionPlans.computeIfAbsent(dependency.getId(), id -> new ExecutionPlan()));
+                        }
+                        return new CompilationArtifact(new ExecutionPlan(), dependencies, null, null);
+                    }
+                });
+        Map<String, Executable> slangModels = new LinkedHashMap<>();
+        for (Flow model : Arrays.asList(FIRST_FLOW, SECOND_FLOW, BROKEN_FLOW, SHARED_OPERATION)) {
+            slangModels.put(model.getId(), model);
+        }
+
+        CompileResult compileResult = slangContentVerifier.compileSlangModels(slangModels);
+
+        Map<String, CompilationArtifact> results = compileResult.getResults();
+        assertEquals(3, results.size());
+        ExecutionPlan sharedPlan = results.get("ns.first_flow").getDependencies().get("ns.shared_op");
+        assertNotNull(sharedPlan);
+        assertSame(sharedPlan, results.get("ns.second_flow").getDependencies().get("ns.shared_op"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, ExecutionPlan>> executionPlansCaptor =
+                (ArgumentCaptor<Map<String, ExecutionPlan>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(Map.class);
+        verify(scoreCompiler, times(4)).compile(any(Executable.class), anySetOf(Executable.class),
+                executionPlansCaptor.capture());
+        for (Map<String, ExecutionPlan> executionPlans : executionPlansCaptor.getAllValues()) {
+            assertSame(executionPlansCaptor.getValue(), executionPlans);
+        }
+
+        assertEquals(1, compileResult.getExceptions().size());
+        RuntimeException exception = compileResult.getExceptions().peek();
+        assertTrue(exception.getMessage().startsWith("Failed compiling Slang source: 'ns.broken_flow'."));
+        assertEquals("broken flow", exception.getCause().getMessage());
+
+        InOrder inOrder = inOrder(loggingService);
+        inOrder.verify(loggingService).logEvent(Level.INFO, "Compiled: 'ns.first_flow' successfully");
+        inOrder.verify(loggingService).logEvent(Level.INFO, "Compiled: 'ns.second_flow' successfully");
+        inOrder.verify(loggingService).logEvent(Level.ERROR,
+                "Failed compiling Slang source: 'ns.broken_flow'.\nbroken flow");
+        inOrder.verify(loggingService).logEvent(Level.INFO, "Compiled: 'ns.shared_op' successfully");
+    }
+
+    private static Flow createModel(String name, String... dependencies) {
+        return new Flow(null, null, null, "ns", name, null, null, null, null,
+                new HashSet<>(Arrays.asList(dependencies)), Collections.<String>emptySet());
+    }
+}
@@ -60,7 +60,17 @@ public class Argument extends InOutParam {
                     Set<String> systemPropertyDependencies,
                     boolean privateArgument,
                     Prompt prompt) {
-        super(name, value, functionDependencies, systemPropertyDependencies);
+        this(name, value, functionDependencies, systemPropertyDependencies, null, privateArgument, prompt);
+    }
+
+    public Argument(String name,
+                    Value value,
+                    Set<ScriptFunction> functionDependencies,
+                    Set<String> systemPropertyDependencies,
+                    Set<String> variableDependencies,
+                    boolean privateArgument,
+                    Prompt prompt) {
+        super(name, value, functionDependencies, systemPropertyDependencies, variableDependencies);
         this.privateArgument = privateArgument;
         this.prompt = prompt;
     }
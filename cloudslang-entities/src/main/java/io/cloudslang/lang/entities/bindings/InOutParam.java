@@ -31,16 +31,28 @@ public abstract class InOutParam implements Serializable {
     private Value value;
     private Set<ScriptFunction> functionDependencies;
     private Set<String> systemPropertyDependencies;
+    // derived from the value at compile time, null if unknown
+    private Set<String> variableDependencies;
 
     public InOutParam(
             String name,
             Value value,
             Set<ScriptFunction> functionDependencies,
             Set<String> systemPropertyDependencies) {
+        this(name, value, functionDependencies, systemPropertyDependencies, null);
+    }
+
+    public InOutParam(
+            String name,
+            Value value,
+            Set<ScriptFunction> functionDependencies,
+            Set<String> systemPropertyDependencies,
+            Set<String> variableDependencies) {
         this.name = name;
         this.value = value;
         this.functionDependencies = functionDependencies;
         this.systemPropertyDependencies = systemPropertyDependencies;
+        this.variableDependencies = variableDependencies;
     }
 
     public InOutParam(String name, Value value) {
@@ -74,6 +86,14 @@ public abstract class InOutParam implements Serializable {
         return systemPropertyDependencies;
     }
 
+    /**
+     * @return the names of the context variables the value's expressions may read,
+     *     or null if they can not be determined and the whole context is needed
+     */
+    public Set<String> getVariableDependencies() {
+        return variableDependencies;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -81,9 +101,14 @@ public abstract class InOutParam implements Serializable {
                 .append("value", value)
                 .append("functionDependencies", functionDependencies)
                 .append("systemPropertyDependencies", systemPropertyDependencies)
+                .append("variableDependencies", variableDependencies)
                 .toString();
     }
 
+    /**
+     * variableDependencies is left out of equality: it is derived from the value, and a parameter
+     * without it (null) evaluates the same way against the whole context
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -38,7 +38,8 @@ public class Input extends InOutParam {
         super(inputBuilder.name,
                 inputBuilder.value,
                 inputBuilder.functionDependencies,
-                inputBuilder.systemPropertyDependencies
+                inputBuilder.systemPropertyDependencies,
+                inputBuilder.variableDependencies
         );
         this.required = inputBuilder.required;
         this.privateInput = inputBuilder.privateInput;
@@ -112,6 +113,7 @@ public class Input extends InOutParam {
         private boolean privateInput;
         private Set<ScriptFunction> functionDependencies;
         private Set<String> systemPropertyDependencies;
+        private Set<String> variableDependencies;
         private Prompt prompt;
 
         public InputBuilder(String name, Serializable serializable) {
@@ -144,6 +146,8 @@ public class Input extends InOutParam {
             this.privateInput = input.isPrivateInput();
             this.functionDependencies = input.getFunctionDependencies();
             this.systemPropertyDependencies = input.getSystemPropertyDependencies();
+            // the dependencies were computed for the original value only
+            this.variableDependencies = value == input.getValue() ? input.getVariableDependencies() : null;
             this.prompt = input.prompt;
         }
 
@@ -167,6 +171,11 @@ public class Input extends InOutParam {
             return this;
         }
 
+        public InputBuilder withVariableDependencies(Set<String> variableDependencies) {
+            this.variableDependencies = variableDependencies;
+            return this;
+        }
+
         public InputBuilder withPrompt(Prompt prompt) {
             this.prompt = prompt;
             return this;
@@ -13,6 +13,7 @@ import java.io.Serializable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -119,6 +120,16 @@ public class PyObjectValueProxyFactory {
 
         private static final String ACCESSED_GETTER_METHOD = "isAccessed";
 
+        // implementing methods resolved once per implementing class and proxied method, instead of on every call;
+        // a class value does not keep the classes of the content, and their class loaders, from being unloaded
+        private static final ClassValue<ConcurrentMap<Method, Method>> resolvedMethods =
+                new ClassValue<ConcurrentMap<Method, Method>>() {
+                    @Override
+                    protected ConcurrentMap<Method, Method> computeValue(Class<?> type) {
+                        return new ConcurrentHashMap<>();
+                    }
+                };
+
         protected Value value;
         protected PyObject pyObject;
         protected boolean accessed;
@@ -134,11 +145,9 @@ public class PyObjectValueProxyFactory {
             if (thisMethod.getName().equals(ACCESSED_GETTER_METHOD)) {
                 return accessed;
             } else if (Value.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method valueMethod = value.getClass().getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
-                return valueMethod.invoke(value, args);
+                return resolveMethod(value.getClass(), thisMethod).invoke(value, args);
             } else if (PyObject.class.isAssignableFrom(thisMethod.getDeclaringClass())) {
-                Method pyObjectMethod = pyObject.getClass()
-                        .getMethod(thisMethod.getName(), thisMethod.getParameterTypes());
+                Method pyObjectMethod = resolveMethod(pyObject.getClass(), thisMethod);
                 if (!thisMethod.getName().equals("toString")) {
                     accessed = true;
                 }
@@ -148,16 +157,27 @@ public class PyObjectValueProxyFactory {
             }
         }
 
+        private static Method resolveMethod(Class<?> implementingClass, Method method) throws NoSuchMethodException {
+            ConcurrentMap<Method, Method> implementingMethods = resolvedMethods.get(implementingClass);
+            Method resolvedMethod = implementingMethods.get(method);
+            if (resolvedMethod == null) {
+                resolvedMethod = implementingClass.getMethod(method.getName(), method.getParameterTypes());
+                implementingMethods.putIfAbsent(method, resolvedMethod);
+            }
+            return resolvedMethod;
+        }
+
         private Object[] getPyObjectArgs(Object[] args) {
-            Object[] pyObjectArgs = new Object[args.length];
+            Object[] pyObjectArgs = args;
             for (int index = 0; index < args.length; index++) {
                 if (args[index] instanceof PyObjectValue) {
+                    if (pyObjectArgs == args) {
+                        pyObjectArgs = Arrays.copyOf(args, args.length);
+                    }
                     PyObjectValueMethodHandler handler = (PyObjectValueMethodHandler) ((ProxyObject) args[index])
                             .getHandler();
                     handler.accessed = true;
                     pyObjectArgs[index] = handler.pyObject;
-                } else {
-                    pyObjectArgs[index] = args[index];
                 }
             }
             return pyObjectArgs;
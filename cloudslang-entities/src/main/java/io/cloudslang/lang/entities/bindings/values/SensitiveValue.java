@@ -12,17 +12,11 @@ package io.cloudslang.lang.entities.bindings.values;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.cloudslang.lang.entities.SensitivityLevel;
 import io.cloudslang.lang.entities.encryption.EncryptionProvider;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 
 import io.cloudslang.lang.spi.encryption.Encryption;
-import javassist.util.proxy.ProxyObjectInputStream;
-import javassist.util.proxy.ProxyObjectOutputStream;
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.io.IOUtils;
 
 /**
  * Sensitive InOutParam value
@@ -33,6 +27,8 @@ public class SensitiveValue implements Value {
 
     public static final String SENSITIVE_VALUE_MASK = "********";
 
+    private static final String CACHE_DECRYPTED_CONTENT_PROPERTY = "cslang.sensitive.cacheDecryptedContent";
+
     private String content = null;
 
     /**
@@ -43,6 +39,16 @@ public class SensitiveValue implements Value {
     @JsonIgnore
     private Serializable originalContent = null;
 
+    /**
+     * Plaintext of the encrypted content if it is an immutable string, number or boolean, kept after the first read
+     * so that repeated reads do not decrypt and deserialize it again. Only kept with
+     * -Dcslang.sensitive.cacheDecryptedContent=true. It is never serialized and it is wiped by {@link #encrypt()},
+     * which the runtime calls at the end of every step for the values held by its RunEnvironment only; values held
+     * elsewhere, e.g. sensitive defaults of compiled execution plans, keep it for as long as they live.
+     */
+    @JsonIgnore
+    private transient Serializable decryptedContent = null;
+
     private SensitivityLevel sensitivityLevel = SensitivityLevel.ENCRYPTED;
 
     @SuppressWarnings("unused")
@@ -70,6 +76,7 @@ public class SensitiveValue implements Value {
     }
 
     public void encrypt() {
+        decryptedContent = null;
         if (originalContent != null) {
             content = encrypt(originalContent);
             originalContent = null;
@@ -77,8 +84,7 @@ public class SensitiveValue implements Value {
     }
 
     protected String encrypt(Serializable originalContent) {
-        byte[] serialized = serialize(originalContent);
-        String serializedAsString = Base64.encodeBase64String(serialized);
+        String serializedAsString = SensitiveValueSerializer.serialize(originalContent);
         Encryption encryption = EncryptionProvider.get();
         if (SensitivityLevel.OBFUSCATED == sensitivityLevel) {
             return encryption.obfuscate(serializedAsString);
@@ -89,8 +95,9 @@ public class SensitiveValue implements Value {
 
     public void decrypt() {
         if (content != null) {
-            originalContent = decrypt(content);
+            originalContent = decryptedContent != null ? decryptedContent : decrypt(content);
             content = null;
+            decryptedContent = null;
         }
     }
 
@@ -102,10 +109,7 @@ public class SensitiveValue implements Value {
         } else {
             decrypted = encryption.decrypt(content);
         }
-        String serializedAsString = new String(decrypted);
-
-        byte[] serialized = Base64.decodeBase64(serializedAsString);
-        return deserialize(serialized);
+        return SensitiveValueSerializer.deserialize(new String(decrypted));
     }
 
     public String getContent() {
@@ -114,11 +118,33 @@ public class SensitiveValue implements Value {
 
     public void setContent(String content) {
         this.content = content;
+        this.decryptedContent = null;
     }
 
     @Override
     public Serializable get() {
-        return (originalContent != null) ? originalContent : ((content == null) ? null : decrypt(content));
+        if (originalContent != null) {
+            return originalContent;
+        }
+        if (content == null) {
+            return null;
+        }
+        if (decryptedContent != null) {
+            return decryptedContent;
+        }
+        Serializable decrypted = decrypt(content);
+        // mutable contents are still decrypted on every read, so callers can not change each other's copy
+        if (isImmutable(decrypted) && Boolean.getBoolean(CACHE_DECRYPTED_CONTENT_PROPERTY)) {
+            decryptedContent = decrypted;
+        }
+        return decrypted;
+    }
+
+    private static boolean isImmutable(Serializable value) {
+        return value instanceof String || value instanceof Boolean || value instanceof Integer ||
+                value instanceof Long || value instanceof Short || value instanceof Byte || value instanceof Double ||
+                value instanceof Float || value instanceof Character || value instanceof BigInteger ||
+                value instanceof BigDecimal;
     }
 
     @JsonIgnore
@@ -156,35 +182,4 @@ public class SensitiveValue implements Value {
     public String toString() {
         return SENSITIVE_VALUE_MASK;
     }
-
-    private byte[] serialize(Serializable data) {
-        ObjectOutputStream oos = null;
-        try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            oos = new ProxyObjectOutputStream(baos);
-            oos.writeObject(data);
-            return baos.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize object", e);
-        } finally {
-            if (oos != null) {
-                IOUtils.closeQuietly(oos);
-            }
-        }
-    }
-
-    private Serializable deserialize(byte[] data) {
-        ObjectInputStream ois = null;
-        try {
-            ByteArrayInputStream bais = new ByteArrayInputStream(data);
-            ois = new ProxyObjectInputStream(bais);
-            return (Serializable) ois.readObject();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to deserialize object", e);
-        } finally {
-            if (ois != null) {
-                IOUtils.closeQuietly(ois);
-            }
-        }
-    }
 }
@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javassist.util.proxy.ProxyObjectInputStream;
+import javassist.util.proxy.ProxyObjectOutputStream;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Converts the content of a {@link SensitiveValue} to the text that gets encrypted, and back.
+ * <p>
+ * The compact format starts with a marker that can not appear in Base64 followed by the format version, and
+ * writes strings, numbers, booleans and array lists / hash maps of those as length prefixed text.
+ * Other contents are written as Base64 of their java serialization, which is also the format of values
+ * written by previous versions and is always readable.
+ * <p>
+ * Both formats are read, but the legacy java format is written by default, because the values end up in persisted
+ * run state and execution data that older engines and workers can not read in the compact format.
+ * The compact format is written with -Dcslang.sensitive.serialization=compact. It can become the default once
+ * every engine and worker sharing the persisted data runs a version that reads it.
+ */
+final class SensitiveValueSerializer {
+
+    static final String COMPACT_FORMAT_PREFIX = "~1";
+
+    private static final boolean WRITE_COMPACT_FORMAT =
+            "compact".equals(System.getProperty("cslang.sensitive.serialization", "java"));
+
+    private static final int MAX_NESTING_DEPTH = 32;
+
+    private static final char NULL = 'n';
+    private static final char STRING = 's';
+    private static final char INTEGER = 'i';
+    private static final char LONG = 'l';
+    private static final char DOUBLE = 'd';
+    private static final char BOOLEAN = 'b';
+    private static final char LIST = 'L';
+    private static final char MAP = 'M';
+    private static final char LINKED_MAP = 'O';
+    private static final char LENGTH_END = ':';
+
+    private SensitiveValueSerializer() {
+    }
+
+    static String serialize(Serializable content) {
+        return serialize(content, WRITE_COMPACT_FORMAT);
+    }
+
+    static String serialize(Serializable content, boolean compactFormat) {
+        if (compactFormat && isCompactlyWritable(content, 0)) {
+            StringBuilder builder = new StringBuilder(COMPACT_FORMAT_PREFIX);
+            write(content, builder);
+            return builder.toString();
+        }
+        return Base64.encodeBase64String(javaSerialize(content));
+    }
+
+    static Serializable deserialize(String serialized) {
+        if (serialized.startsWith(COMPACT_FORMAT_PREFIX)) {
+            Reader reader = new Reader(serialized, COMPACT_FORMAT_PREFIX.length());
+            Serializable content = reader.read();
+            if (!reader.isAtEnd()) {
+                throw new RuntimeException("Failed to deserialize object: unexpected trailing data");
+            }
+            return content;
+        }
+        return javaDeserialize(Base64.decodeBase64(serialized));
+    }
+
+    private static boolean isCompactlyWritable(Object content, int depth) {
+        if (content == null || content instanceof String || content instanceof Integer || content instanceof Long ||
+                content instanceof Double || content instanceof Boolean) {
+            return true;
+        }
+        if (depth >= MAX_NESTING_DEPTH) {
+            return false;
+        }
+        Class<?> contentClass = content.getClass();
+        if (contentClass == ArrayList.class) {
+            for (Object element : (List<?>) content) {
+                if (!isCompactlyWritable(element, depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (contentClass == HashMap.class || contentClass == LinkedHashMap.class) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) content).entrySet()) {
+                if (!isCompactlyWritable(entry.getKey(), depth + 1) ||
+                        !isCompactlyWritable(entry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void write(Object content, StringBuilder builder) {
+        if (content == null) {
+            builder.append(NULL);
+        } else if (content instanceof String) {
+            writeText(STRING, (String) content, builder);
+        } else if (content instanceof Integer) {
+            writeText(INTEGER, content.toString(), builder);
+        } else if (content instanceof Long) {
+            writeText(LONG, content.toString(), builder);
+        } else if (content instanceof Double) {
+            writeText(DOUBLE, content.toString(), builder);
+        } else if (content instanceof Boolean) {
+            writeText(BOOLEAN, content.toString(), builder);
+        } else if (content instanceof List) {
+            List<?> list = (List<?>) content;
+            builder.append(LIST).append(list.size()).append(LENGTH_END);
+            for (Object element : list) {
+                write(element, builder);
+            }
+        } else {
+            Map<?, ?> map = (Map<?, ?>) content;
+            builder.append(content.getClass() == LinkedHashMap.class ? LINKED_MAP : MAP)
+                    .append(map.size()).append(LENGTH_END);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                write(entry.getKey(), builder);
+                write(entry.getValue(), builder);
+            }
+        }
+    }
+
+    private static void writeText(char type, String text, StringBuilder builder) {
+        builder.append(type).append(text.length()).append(LENGTH_END).append(text);
+    }
+
+    private static byte[] javaSerialize(Serializable data) {
+        ObjectOutputStream oos = null;
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            oos = new ProxyObjectOutputStream(baos);
+            oos.writeObject(data);
+            return baos.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to serialize object", e);
+        } finally {
+            if (oos != null) {
+                IOUtils.closeQuietly(oos);
+            }
+        }
+    }
+
+    private static Serializable javaDeserialize(byte[] data) {
+        ObjectInputStream ois = null;
+        try {
+            ByteArrayInputStream bais = new ByteArrayInputStream(data);
+            ois = new ProxyObjectInputStream(bais);
+            return (Serializable) ois.readObject();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to deserialize object", e);
+        } finally {
+            if (ois != null) {
+                IOUtils.closeQuietly(ois);
+            }
+        }
+    }
+
+    private static class Reader {
+
+        private final String text;
+        private int position;
+
+        private Reader(String text, int position) {
+            this.text = text;
+            this.position = position;
+        }
+
+        private Serializable read() {
+            if (isAtEnd()) {
+                throw new RuntimeException("Failed to deserialize object: unexpected end of data");
+            }
+            char type = text.charAt(position++);
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    return readText();
+                case INTEGER:
+                    return Integer.valueOf(readText());
+                case LONG:
+                    return Long.valueOf(readText());
+                case DOUBLE:
+                    return Double.valueOf(readText());
+                case BOOLEAN:
+                    return Boolean.valueOf(readText());
+                case LIST:
+                    int size = readLength();
+                    ArrayList<Serializable> list = new ArrayList<>(size);
+                    for (int index = 0; index < size; index++) {
+                        list.add(read());
+                    }
+                    return list;
+                case MAP:
+                    return readMap(new HashMap<Serializable, Serializable>());
+                case LINKED_MAP:
+                    return readMap(new LinkedHashMap<Serializable, Serializable>());
+                default:
+                    throw new RuntimeException("Failed to deserialize object: unknown type '" + type + "'");
+            }
+        }
+
+        private Serializable readMap(HashMap<Serializable, Serializable> map) {
+            int size = readLength();
+            for (int index = 0; index < size; index++) {
+                Serializable key = read();
+                map.put(key, read());
+            }
+            return map;
+        }
+
+        private String readText() {
+            int length = readLength();
+            if (position + length > text.length()) {
+                throw new RuntimeException("Failed to deserialize object: unexpected end of data");
+            }
+            String value = text.substring(position, position + length);
+            position += length;
+            return value;
+        }
+
+        private int readLength() {
+            int end = text.indexOf(LENGTH_END, position);
+            if (end < 0) {
+                throw new RuntimeException("Failed to deserialize object: unexpected end of data");
+            }
+            int length = Integer.parseInt(text.substring(position, end));
+            position = end + 1;
+            return length;
+        }
+
+        private boolean isAtEnd() {
+            return position >= text.length();
+        }
+    }
+}
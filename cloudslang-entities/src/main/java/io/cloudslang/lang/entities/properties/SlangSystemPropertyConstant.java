@@ -12,7 +12,8 @@ package io.cloudslang.lang.entities.properties;
 public enum SlangSystemPropertyConstant {
     CSLANG_ENCODING("cslang.encoding"),
     LOG4J_CONFIGURATION("log4j.configuration"),
-    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity");
+    CSLANG_RUNTIME_EVENTS_VERBOSITY("cslang.runtime.events.verbosity"),
+    CSLANG_RUNTIME_EVENTS_DISABLED("cslang.runtime.events.disabled");
 
     private final String value;
 
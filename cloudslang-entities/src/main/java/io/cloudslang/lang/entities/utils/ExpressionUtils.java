@@ -12,6 +12,7 @@ package io.cloudslang.lang.entities.utils;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -65,6 +66,16 @@ public final class ExpressionUtils {
 
     private static final Map<ScriptFunction, Pattern> patternsMap = new HashMap<>();
 
+    private static final Set<String> PYTHON_KEYWORDS = new HashSet<>(Arrays.asList(
+            "and", "as", "assert", "async", "await", "break", "class", "continue", "def", "del", "elif", "else",
+            "except", "exec", "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "nonlocal",
+            "not", "or", "pass", "print", "raise", "return", "try", "while", "with", "yield",
+            "None", "True", "False"));
+    // functions that read the context by a name computed at runtime
+    private static final Set<String> DYNAMIC_ACCESS_FUNCTIONS = new HashSet<>(Arrays.asList(
+            "globals", "locals", "vars", "eval", "exec", "dir", "get_from_smaller_context"));
+    private static final String GET_FUNCTION = "get";
+
     static {
         addPattern(ScriptFunction.CHECK_EMPTY, CHECK_EMPTY_REGEX);
         addPattern(ScriptFunction.CS_APPEND, CS_APPEND_REGEX);
@@ -131,4 +142,156 @@ public final class ExpressionUtils {
 
         return false;
     }
+
+    /**
+     * Extracts the names of the context variables a python expression may read.
+     * <p>
+     * The result over-approximates the free variables: every identifier that is not an attribute name or a
+     * keyword is included, and so is every string literal that is a valid identifier, which covers
+     * get('variable_name').
+     *
+     * @param expression the expression, without the ${} delimiters
+     * @return the variable names, or null if the expression may read variables that can not be known in
+     *     advance (e.g. globals(), or get() with a computed name)
+     */
+    public static Set<String> extractVariables(String expression) {
+        Set<String> variables = new HashSet<>();
+        int length = expression.length();
+        int index = 0;
+        char previous = 0;
+        while (index < length) {
+            char current = expression.charAt(index);
+            if (Character.isWhitespace(current)) {
+                index++;
+                continue;
+            }
+            if (current == '#') {
+                while (index < length && expression.charAt(index) != '\n') {
+                    index++;
+                }
+                continue;
+            }
+            if (current == '\'' || current == '"') {
+                index = skipStringLiteral(expression, index, variables);
+                if (index < 0) {
+                    return null;
+                }
+                previous = current;
+                continue;
+            }
+            if (Character.isDigit(current)) {
+                while (index < length && (Character.isLetterOrDigit(expression.charAt(index)) ||
+                        expression.charAt(index) == '.' || expression.charAt(index) == '_')) {
+                    index++;
+                }
+                previous = '0';
+                continue;
+            }
+            if (Character.isJavaIdentifierStart(current)) {
+                int start = index;
+                while (index < length && Character.isJavaIdentifierPart(expression.charAt(index))) {
+                    index++;
+                }
+                String identifier = expression.substring(start, index);
+                if (index < length && isStringPrefix(identifier) &&
+                        (expression.charAt(index) == '\'' || expression.charAt(index) == '"')) {
+                    // prefixed string literal, e.g. u'value' or r"value"; f-strings embed expressions
+                    if (identifier.toLowerCase().contains("f")) {
+                        return null;
+                    }
+                    previous = identifier.charAt(0);
+                    continue;
+                }
+                if (previous != '.' && !PYTHON_KEYWORDS.contains(identifier)) {
+                    if (DYNAMIC_ACCESS_FUNCTIONS.contains(identifier) ||
+                            (GET_FUNCTION.equals(identifier) && !isCalledWithLiteral(expression, index))) {
+                        return null;
+                    }
+                    variables.add(identifier);
+                }
+                previous = 'a';
+                continue;
+            }
+            previous = current;
+            index++;
+        }
+        return variables;
+    }
+
+    private static boolean isStringPrefix(String identifier) {
+        return identifier.length() <= 2 && identifier.toLowerCase().matches("[rubf]+");
+    }
+
+    private static boolean isCalledWithLiteral(String expression, int index) {
+        int position = skipWhitespaces(expression, index);
+        if (position >= expression.length() || expression.charAt(position) != '(') {
+            // the function itself is passed around, so the names it will be called with are unknown
+            return false;
+        }
+        position = skipWhitespaces(expression, position + 1);
+        while (position < expression.length() && "rRuUbB".indexOf(expression.charAt(position)) >= 0) {
+            position++;
+        }
+        if (position >= expression.length() ||
+                (expression.charAt(position) != '\'' && expression.charAt(position) != '"')) {
+            return false;
+        }
+        // the name must be the literal itself, not e.g. 'prefix_' + suffix
+        position = skipStringLiteral(expression, position, new HashSet<>());
+        if (position < 0) {
+            return false;
+        }
+        position = skipWhitespaces(expression, position);
+        return position < expression.length() &&
+                (expression.charAt(position) == ',' || expression.charAt(position) == ')');
+    }
+
+    private static int skipWhitespaces(String expression, int index) {
+        while (index < expression.length() && Character.isWhitespace(expression.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * @return the index after the literal, or -1 if the literal is not terminated
+     */
+    private static int skipStringLiteral(String expression, int index, Set<String> variables) {
+        char quote = expression.charAt(index);
+        boolean triple = expression.startsWith(new String(new char[]{quote, quote, quote}), index);
+        int delimiterLength = triple ? 3 : 1;
+        int position = index + delimiterLength;
+        StringBuilder content = new StringBuilder();
+        while (position < expression.length()) {
+            char current = expression.charAt(position);
+            if (current == '\\') {
+                position += 2;
+                content.append('\\');
+                continue;
+            }
+            if (current == quote && (!triple || expression.startsWith(
+                    new String(new char[]{quote, quote, quote}), position))) {
+                String literal = content.toString();
+                if (isIdentifier(literal)) {
+                    variables.add(literal);
+                }
+                return position + delimiterLength;
+            }
+            content.append(current);
+            position++;
+        }
+        return -1;
+    }
+
+    private static boolean isIdentifier(String text) {
+        if (text.isEmpty() || !Character.isJavaIdentifierStart(text.charAt(0))) {
+            return false;
+        }
+        for (int index = 1; index < text.length(); index++) {
+            if (!Character.isJavaIdentifierPart(text.charAt(index))) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -15,6 +15,8 @@ import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.spi.encryption.Encryption;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.LinkedList;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -62,6 +64,27 @@ public class SensitiveValueTest {
         verifyEncrypted(value, originalValue, expectedEncryptedString);
     }
 
+    @Test
+    public void testSensitiveValueCompactFormatIsReadable() {
+        SensitiveValue value = (SensitiveValue) ValueFactory.create("", true);
+        value.setContent("{Encrypted}~1s22:OriginalSensitiveValue");
+        assertEquals("OriginalSensitiveValue", value.get());
+
+        value.decrypt();
+        value.encrypt();
+        assertEquals("{Encrypted}rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=", value.getContent());
+    }
+
+    @Test
+    public void testSensitiveValueOtherTypesUseJavaSerialization() {
+        LinkedList<String> list = new LinkedList<>(Arrays.asList("a", "b"));
+
+        SensitiveValue value = (SensitiveValue) ValueFactory.create(list, true);
+        assertTrue(value.getContent().startsWith(ENCRYPTED + "rO0AB"));
+        assertEquals(list, value.get());
+        assertEquals(LinkedList.class, value.get().getClass());
+    }
+
     @Test
     public void testEncryptedStringSensitiveValue() {
         final String originalValue = "foo";
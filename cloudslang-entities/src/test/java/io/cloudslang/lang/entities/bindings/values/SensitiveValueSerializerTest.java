@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.entities.bindings.values;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SensitiveValueSerializerTest {
+
+    @Test
+    public void testLegacyFormatIsWrittenByDefault() {
+        String serialized = SensitiveValueSerializer.serialize("OriginalSensitiveValue");
+
+        assertEquals("rO0ABXQAFk9yaWdpbmFsU2Vuc2l0aXZlVmFsdWU=", serialized);
+        assertEquals("OriginalSensitiveValue", SensitiveValueSerializer.deserialize(serialized));
+    }
+
+    @Test
+    public void testCompactFormatString() {
+        String serialized = SensitiveValueSerializer.serialize("OriginalSensitiveValue", true);
+
+        assertEquals("~1s22:OriginalSensitiveValue", serialized);
+        assertEquals("OriginalSensitiveValue", SensitiveValueSerializer.deserialize(serialized));
+    }
+
+    @Test
+    public void testCompactFormatRoundTrip() {
+        Map<String, Serializable> map = new LinkedHashMap<>();
+        map.put("user", "admin");
+        map.put("port", 8080);
+        map.put("timeout", 30L);
+        map.put("ratio", 0.5);
+        map.put("enabled", true);
+        map.put("missing", null);
+        map.put("hosts", new ArrayList<>(Arrays.asList("a:1", "", "b")));
+
+        String serialized = SensitiveValueSerializer.serialize((Serializable) map, true);
+        Serializable deserialized = SensitiveValueSerializer.deserialize(serialized);
+
+        assertTrue(serialized.startsWith("~1O7:"));
+        assertEquals(map, deserialized);
+        assertEquals(LinkedHashMap.class, deserialized.getClass());
+        assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(((Map<?, ?>) deserialized).keySet()));
+    }
+
+    @Test
+    public void testCompactFormatOtherTypesUseJavaSerialization() {
+        LinkedList<String> list = new LinkedList<>(Arrays.asList("a", "b"));
+
+        String serialized = SensitiveValueSerializer.serialize(list, true);
+        Serializable deserialized = SensitiveValueSerializer.deserialize(serialized);
+
+        assertTrue(serialized.startsWith("rO0AB"));
+        assertEquals(list, deserialized);
+        assertEquals(LinkedList.class, deserialized.getClass());
+    }
+}
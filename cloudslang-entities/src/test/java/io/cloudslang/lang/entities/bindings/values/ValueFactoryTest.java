@@ -14,6 +14,7 @@ import io.cloudslang.lang.spi.encryption.Encryption;
 import junit.framework.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.python.core.PyObject;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
@@ -42,6 +43,23 @@ public class ValueFactoryTest {
         Assert.assertEquals("value1", pyObjectValue.get());
     }
 
+    @Test
+    public void testPyObjectValueAccessTracking() {
+        PyObjectValue first = ValueFactory.createPyObjectValue(ValueFactory.create("value1", true), false);
+        PyObjectValue second = ValueFactory.createPyObjectValue(ValueFactory.create("value2", false), false);
+        Assert.assertFalse(first.isAccessed());
+        Assert.assertTrue(first.isSensitive());
+
+        PyObject concatenated = ((PyObject) first).__add__((PyObject) second);
+        // the cached method lookup must resolve the same way for another proxy instance
+        PyObject concatenatedAgain = ((PyObject) second).__add__((PyObject) first);
+
+        Assert.assertEquals("value1value2", concatenated.toString());
+        Assert.assertEquals("value2value1", concatenatedAgain.toString());
+        Assert.assertTrue(first.isAccessed());
+        Assert.assertTrue(second.isAccessed());
+    }
+
     static class Config {
 
         @Bean
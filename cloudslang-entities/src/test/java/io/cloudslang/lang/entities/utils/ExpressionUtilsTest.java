@@ -19,6 +19,7 @@ import org.junit.Test;
 
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractSystemProperties;
+import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractVariables;
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.matchGetFunction;
 
 /**
@@ -203,4 +204,34 @@ public class ExpressionUtilsTest {
         Assert.assertTrue(matchGetFunction("exec(get(get(var, default_expr), default_expr))"));
     }
 
+    ///////////////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testExtractVariablesSkipsAttributesKeywordsAndNumbers() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("x", "y", "z"), extractVariables("x.upper() + y if 1.5e3 > z else None"));
+    }
+
+    @Test
+    public void testExtractVariablesIncludesGetLiterals() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("get", "var_name", "default"),
+                extractVariables("get( 'var_name', \"default\")"));
+    }
+
+    @Test
+    public void testExtractVariablesIgnoresStringContent() throws Exception {
+        Assert.assertEquals(Sets.newHashSet("a"), extractVariables("a + 'not a variable' + \"\"\"it's\"\"\""));
+    }
+
+    @Test
+    public void testExtractVariablesComputedGetName() throws Exception {
+        Assert.assertNull(extractVariables("get('prefix_' + suffix)"));
+        Assert.assertNull(extractVariables("get(name)"));
+    }
+
+    @Test
+    public void testExtractVariablesDynamicAccess() throws Exception {
+        Assert.assertNull(extractVariables("globals()['x']"));
+        Assert.assertNull(extractVariables("f'{x}'"));
+    }
+
 }
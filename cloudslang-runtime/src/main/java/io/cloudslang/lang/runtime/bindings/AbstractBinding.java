@@ -115,7 +115,8 @@ public class AbstractBinding {
             return Optional.of(scriptEvaluator.evalExpr(expressionToEvaluate,
                     evaluationContext,
                     evaluationContextHolder.getSystemProperties(),
-                    evaluationContextHolder.getFunctionDependencies()));
+                    evaluationContextHolder.getFunctionDependencies(),
+                    evaluationContextHolder.getVariableDependencies()));
         } else {
             return Optional.empty();
         }
@@ -23,6 +23,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import static java.util.Collections.unmodifiableMap;
+
 /**
  * @author Bonczidai Levente
  * @since 8/17/2015
@@ -37,7 +39,7 @@ public class ArgumentsBinding extends AbstractBinding {
         Map<String, Value> resultContext = new HashMap<>();
 
         //we do not want to change original context map
-        Map<String, Value> srcContext = new HashMap<>(context);
+        Map<String, Value> srcContext = unmodifiableMap(context);
 
         for (Argument argument : arguments) {
             bindArgument(argument, srcContext, systemProperties, resultContext);
@@ -80,7 +82,8 @@ public class ArgumentsBinding extends AbstractBinding {
                             systemProperties,
                             inputValue,
                             inputName,
-                            argument.getFunctionDependencies());
+                            argument.getFunctionDependencies(),
+                            argument.getVariableDependencies());
 
             if (argument.isPrivateArgument()) {
                 Value rawValue = argument.getValue();
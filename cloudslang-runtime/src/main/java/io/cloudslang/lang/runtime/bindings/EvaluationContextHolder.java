@@ -13,11 +13,12 @@ import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
+import static java.util.Collections.singletonMap;
+
 //param object for expression evaluation
 final class EvaluationContextHolder {
     private final Map<String, ? extends Value> srcContext;
@@ -26,19 +27,22 @@ final class EvaluationContextHolder {
     private final Value inputValue;
     private final String inputName;
     private final Set<ScriptFunction> scriptFunctions;
+    private final Set<String> variableDependencies;
 
     public EvaluationContextHolder(Map<String, ? extends Value> srcContext,
                                    Map<String, ? extends Value> targetContext,
                                    Set<SystemProperty> systemProperties,
                                    Value inputValue,
                                    String inputName,
-                                   Set<ScriptFunction> scriptFunctions) {
+                                   Set<ScriptFunction> scriptFunctions,
+                                   Set<String> variableDependencies) {
         this.srcContext = srcContext;
         this.targetContext = targetContext;
         this.systemProperties = systemProperties;
         this.inputValue = inputValue;
         this.inputName = inputName;
         this.scriptFunctions = scriptFunctions;
+        this.variableDependencies = variableDependencies;
     }
 
     public Set<SystemProperty> getSystemProperties() {
@@ -50,12 +54,13 @@ final class EvaluationContextHolder {
         return new HashSet<>(scriptFunctions);
     }
 
+    public Set<String> getVariableDependencies() {
+        return variableDependencies;
+    }
+
     public Map<String, Value> createEvaluationContext() {
-        Map<String, Value> evaluationContext = new HashMap<>(srcContext);
-        evaluationContext.put(inputName, inputValue);
         //so you can resolve previous arguments already bound
-        evaluationContext.putAll(targetContext);
-        return evaluationContext;
+        return new LayeredContext(srcContext, singletonMap(inputName, inputValue), targetContext);
     }
 
     public EvaluationContextHolder overrideInputValue(Value value) {
@@ -64,6 +69,7 @@ final class EvaluationContextHolder {
                 systemProperties,
                 value,
                 inputName,
-                scriptFunctions);
+                scriptFunctions,
+                variableDependencies);
     }
 }
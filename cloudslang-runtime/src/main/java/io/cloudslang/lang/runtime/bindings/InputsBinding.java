@@ -28,13 +28,13 @@ import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import org.apache.commons.lang.Validate;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
@@ -61,7 +61,7 @@ public class InputsBinding extends AbstractBinding {
         Map<String, Value> resultContext = new LinkedHashMap<>();
 
         // we do not want to change original context map
-        Map<String, Value> srcContext = new LinkedHashMap<>(context);
+        Map<String, Value> srcContext = unmodifiableMap(context);
 
         Map<String, ? extends Value> actualPromptContext = defaultIfNull(promptContext, emptyMap());
         for (Input input : inputs) {
@@ -137,7 +137,8 @@ public class InputsBinding extends AbstractBinding {
                             systemProperties,
                             input.getValue(),
                             input.getName(),
-                            input.getFunctionDependencies());
+                            input.getFunctionDependencies(),
+                            input.getVariableDependencies());
 
             resolvePromptExpressions(input.getPrompt(), evaluationContextHolder);
         }
@@ -159,15 +160,10 @@ public class InputsBinding extends AbstractBinding {
             Value rawValue = input.getValue();
             String expressionToEvaluate = ExpressionUtils.extractExpression(rawValue == null ? null : rawValue.get());
             if (expressionToEvaluate != null) {
-                // we do not want to change original context map
-                Map<String, Value> scriptContext = new HashMap<>(context);
-                if (context.containsKey(inputName)) {
-                    scriptContext.put(inputName, valueFromContext);
-                }
-                // so you can resolve previous inputs already bound
-                scriptContext.putAll(targetContext);
+                // so you can resolve previous inputs already bound, without copying the original context
+                Map<String, Value> scriptContext = new LayeredContext(context, targetContext);
                 value = scriptEvaluator.evalExpr(expressionToEvaluate, scriptContext, systemProperties,
-                        input.getFunctionDependencies());
+                        input.getFunctionDependencies(), input.getVariableDependencies());
                 value = ValueFactory.create(value, sensitive);
             } else if ((value == null && rawValue != null) ||
                     (containsEmptyStringOrNull(value) && doesNotContainNull(rawValue))) {
@@ -204,6 +200,8 @@ public class InputsBinding extends AbstractBinding {
             return new Input
                     .InputBuilder(input, input.getValue())
                     .withPrompt(prompts.get(input.getName()))
+                    // the prompt expressions were not analyzed together with the input
+                    .withVariableDependencies(null)
                     .build();
         } else {
             return input;
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only view over several contexts, where a key in a later layer hides the same key in the earlier ones.
+ * Equivalent to copying all the layers into a new map with putAll, without the copy.
+ */
+final class LayeredContext extends AbstractMap<String, Value> {
+
+    private final List<Map<String, ? extends Value>> layers;
+
+    @SafeVarargs
+    LayeredContext(Map<String, ? extends Value>... layers) {
+        this.layers = Arrays.asList(layers);
+    }
+
+    @Override
+    public Value get(Object key) {
+        for (int index = layers.size() - 1; index >= 0; index--) {
+            Map<String, ? extends Value> layer = layers.get(index);
+            if (layer.containsKey(key)) {
+                return layer.get(key);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (Map<String, ? extends Value> layer : layers) {
+            if (layer.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Entry<String, Value>> entrySet() {
+        return new AbstractSet<Entry<String, Value>>() {
+            @Override
+            public Iterator<Entry<String, Value>> iterator() {
+                return new LayeredIterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (int index = 0; index < layers.size(); index++) {
+                    for (String key : layers.get(index).keySet()) {
+                        if (!isHidden(key, index)) {
+                            size++;
+                        }
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private boolean isHidden(String key, int layerIndex) {
+        for (int index = layerIndex + 1; index < layers.size(); index++) {
+            if (layers.get(index).containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class LayeredIterator implements Iterator<Entry<String, Value>> {
+
+        private int layerIndex;
+        private Iterator<? extends Entry<String, ? extends Value>> current;
+        private Entry<String, Value> next;
+
+        private LayeredIterator() {
+            this.layerIndex = 0;
+            this.current = layers.isEmpty() ? null : layers.get(0).entrySet().iterator();
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (current != null) {
+                while (current.hasNext()) {
+                    Entry<String, ? extends Value> entry = current.next();
+                    if (!isHidden(entry.getKey(), layerIndex)) {
+                        next = new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+                        return;
+                    }
+                }
+                layerIndex++;
+                current = layerIndex < layers.size() ? layers.get(layerIndex).entrySet().iterator() : null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<String, Value> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<String, Value> result = next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -16,10 +16,12 @@ import io.cloudslang.lang.entities.bindings.values.ValueFactory;
 import io.cloudslang.lang.runtime.steps.ReadOnlyContextAccessor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
 
@@ -35,6 +37,18 @@ public class OutputsBinding extends AbstractBinding {
             ReadOnlyContextAccessor contextAccessor,
             Set<SystemProperty> systemProperties,
             List<Output> possibleOutputs) {
+        return bindOutputs(contextAccessor, systemProperties, possibleOutputs, Collections.emptyMap());
+    }
+
+    /**
+     * @param computedValues the values of outputs that were computed instead of evaluating their expressions,
+     *                       e.g. folded over the branches of a parallel loop, by output name
+     */
+    public Map<String, Value> bindOutputs(
+            ReadOnlyContextAccessor contextAccessor,
+            Set<SystemProperty> systemProperties,
+            List<Output> possibleOutputs,
+            Map<String, ? extends Supplier<Value>> computedValues) {
 
         Map<String, Value> outputs = new LinkedHashMap<>();
         Map<String, Value> context = contextAccessor.getMergedContexts();
@@ -46,13 +60,21 @@ public class OutputsBinding extends AbstractBinding {
                 Value rawValue = output.getValue();
                 Value valueToAssign = rawValue;
                 String expressionToEvaluate = extractExpression(rawValue == null ? null : rawValue.get());
-                if (expressionToEvaluate != null) {
+                Supplier<Value> computedValue = computedValues.get(outputKey);
+                if (computedValue != null) {
+                    try {
+                        valueToAssign = ValueFactory.create(computedValue.get(),
+                                rawValue != null && rawValue.isSensitive());
+                    } catch (Exception exc) {
+                        throw new RuntimeException(errorMessagePrefix + "',\n\t" + exc.getMessage(), exc);
+                    }
+                } else if (expressionToEvaluate != null) {
                     // initialize with null value if key does not exist
                     context.put(outputKey, context.get(outputKey));
                     try {
                         //evaluate expression
-                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, context,
-                                systemProperties, output.getFunctionDependencies());
+                        Value value = scriptEvaluator.evalExpr(expressionToEvaluate, context, systemProperties,
+                                output.getFunctionDependencies(), output.getVariableDependencies());
                         valueToAssign = ValueFactory.create(value, rawValue != null && rawValue.isSensitive());
                     } catch (Exception exc) {
                         throw new RuntimeException(errorMessagePrefix + "',\n\t" + exc.getMessage(), exc);
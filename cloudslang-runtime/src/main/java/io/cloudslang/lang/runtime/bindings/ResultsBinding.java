@@ -13,6 +13,7 @@ package io.cloudslang.lang.runtime.bindings;
 import io.cloudslang.lang.entities.ScoreLangConstants;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.Result;
+import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.utils.ExpressionUtils;
 import io.cloudslang.lang.entities.utils.MapUtils;
@@ -23,6 +24,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,6 +38,29 @@ import java.util.Set;
 @Component
 public class ResultsBinding {
 
+    private static final boolean BATCH_EVALUATION = Boolean.valueOf(
+            System.getProperty("cslang.results.batchEvaluation", "true"));
+    private static final String BATCH_FUNCTION = "__cs_resolve_results";
+    /**
+     * Evaluates the expressions, given as source code, in the scope of its caller, which is the scope of the
+     * context. Returns index + 1 of the first true one, -(index + 1) of the first one that raises an error or is
+     * neither a boolean nor an integer, or 0 when all of them are false.
+     */
+    private static final String BATCH_FUNCTION_SCRIPT =
+            "def " + BATCH_FUNCTION + "(*expressions):\n" +
+            "  import sys\n" +
+            "  frame = sys._getframe(1)\n" +
+            "  for index, expression in enumerate(expressions):\n" +
+            "    try:\n" +
+            "      value = eval(expression, frame.f_globals, frame.f_locals)\n" +
+            "    except Exception:\n" +
+            "      return -(index + 1)\n" +
+            "    if not (type(value) is bool or (type(value) is int and -2147483648 <= value <= 2147483647)):\n" +
+            "      return -(index + 1)\n" +
+            "    if value:\n" +
+            "      return index + 1\n" +
+            "  return 0\n";
+
     @Autowired
     public ScriptEvaluator scriptEvaluator;
 
@@ -81,7 +107,12 @@ public class ResultsBinding {
 
         // In the case of operation, we resolve the result by searching for the first result with a true expression
         // An empty expression passes as true
-        for (Result result : possibleResults) {
+        int firstResultToEvaluate = BATCH_EVALUATION ?
+                resolveResultInBatch(inputs, context, systemProperties, possibleResults) : 0;
+        if (firstResultToEvaluate < 0) {
+            return possibleResults.get(-firstResultToEvaluate - 1).getName();
+        }
+        for (Result result : possibleResults.subList(firstResultToEvaluate, possibleResults.size())) {
             String resultName = result.getName();
 
             if (ResultUtils.isDefaultResult(result)) {
@@ -102,7 +133,7 @@ public class ResultsBinding {
 
                 try {
                     Value expressionResult = scriptEvaluator.evalExpr(expression, scriptContext, systemProperties,
-                            result.getFunctionDependencies());
+                            result.getFunctionDependencies(), result.getVariableDependencies());
                     Boolean evaluatedResult;
                     if (expressionResult.get() instanceof Integer) {
                         evaluatedResult = (Integer) expressionResult.get() != 0;
@@ -130,4 +161,93 @@ public class ResultsBinding {
         throw new RuntimeException("No possible result was resolved");
     }
 
+    /**
+     * Evaluates the leading results that have an expression in a single call to the python runtime: the expressions
+     * are evaluated in order up to the first true one, the same as one by one. An expression that raises an error or
+     * whose value is neither a boolean nor an integer is not decided by the batch; the batch stops at it and it is
+     * evaluated again on its own, which reports it exactly as before.
+     *
+     * @return -(index + 1) of the resolved result, or the index of the first result to evaluate on its own
+     */
+    private int resolveResultInBatch(Map<String, Value> inputs,
+                                     Map<String, Value> context,
+                                     Set<SystemProperty> systemProperties,
+                                     List<Result> possibleResults) {
+        List<String> expressions = new ArrayList<>();
+        Set<ScriptFunction> functionDependencies = new HashSet<>();
+        Set<String> variableDependencies = new HashSet<>();
+        for (Result result : possibleResults) {
+            if (ResultUtils.isDefaultResult(result) || !(result.getValue().get() instanceof String)) {
+                break;
+            }
+            String expression = ExpressionUtils.extractExpression(result.getValue().get());
+            if (expression == null) {
+                break;
+            }
+            expressions.add(expression);
+            functionDependencies.addAll(result.getFunctionDependencies());
+            if (variableDependencies != null && result.getVariableDependencies() != null) {
+                variableDependencies.addAll(result.getVariableDependencies());
+            } else {
+                variableDependencies = null;
+            }
+        }
+        if (expressions.size() < 2) {
+            return 0;
+        }
+
+        Serializable batchResult;
+        try {
+            batchResult = scriptEvaluator.evalExpr(buildBatchExpression(expressions), BATCH_FUNCTION_SCRIPT,
+                    MapUtils.mergeMaps(inputs, context), systemProperties, functionDependencies,
+                    variableDependencies).get();
+        } catch (RuntimeException exception) {
+            return 0;
+        }
+        if (!(batchResult instanceof Number)) {
+            return 0;
+        }
+        int resolved = ((Number) batchResult).intValue();
+        if (resolved > 0 && resolved <= expressions.size()) {
+            return -resolved;
+        } else if (resolved < 0 && resolved >= -expressions.size()) {
+            return -resolved - 1;
+        } else {
+            return resolved == 0 ? expressions.size() : 0;
+        }
+    }
+
+    /**
+     * The expressions are passed to {@link #BATCH_FUNCTION} as python unicode literals, so each of them is compiled
+     * on its own, the same as when it is evaluated alone.
+     */
+    private String buildBatchExpression(List<String> expressions) {
+        StringBuilder batchExpression = new StringBuilder(BATCH_FUNCTION).append("(");
+        for (int index = 0; index < expressions.size(); index++) {
+            if (index > 0) {
+                batchExpression.append(", ");
+            }
+            appendUnicodeLiteral(batchExpression, expressions.get(index));
+        }
+        return batchExpression.append(")").toString();
+    }
+
+    private void appendUnicodeLiteral(StringBuilder builder, String text) {
+        builder.append("u\"");
+        for (int offset = 0; offset < text.length(); ) {
+            int codePoint = text.codePointAt(offset);
+            offset += Character.charCount(codePoint);
+            if (codePoint == '\\' || codePoint == '"') {
+                builder.append('\\').append((char) codePoint);
+            } else if (codePoint >= 0x20 && codePoint < 0x7f) {
+                builder.append((char) codePoint);
+            } else if (codePoint <= 0xffff) {
+                builder.append(String.format("\\u%04x", codePoint));
+            } else {
+                builder.append(String.format("\\U%08x", codePoint));
+            }
+        }
+        builder.append('"');
+    }
+
 }
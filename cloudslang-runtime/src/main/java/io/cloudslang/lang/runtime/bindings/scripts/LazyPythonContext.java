@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Python context that wraps each context value in a {@link PyObjectValue} only when it is first read,
+ * instead of copying and wrapping the whole context up front. A wrapped value is kept, so repeated reads
+ * return the same object and its access tracking is preserved.
+ * <p>
+ * Entries added with put (e.g. the system properties map) live next to the context and hide its keys.
+ * When serialized, e.g. by a runtime service that hands it to another process, it is written as a
+ * {@link HashMap} of all the wrapped values.
+ */
+class LazyPythonContext extends AbstractMap<String, Serializable> implements Serializable {
+
+    private final transient Map<String, Value> context;
+    private final transient Function<Value, PyObjectValue> wrapper;
+    private final transient Map<String, PyObjectValue> wrapped;
+    private final transient Map<String, Serializable> additions;
+
+    LazyPythonContext(Map<String, Value> context, Function<Value, PyObjectValue> wrapper) {
+        this.context = context;
+        this.wrapper = wrapper;
+        this.wrapped = new HashMap<>();
+        this.additions = new HashMap<>();
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        if (additions.containsKey(key)) {
+            return additions.get(key);
+        }
+        return context.containsKey(key) ? wrap((String) key) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return additions.containsKey(key) || context.containsKey(key);
+    }
+
+    @Override
+    public Serializable put(String key, Serializable value) {
+        Serializable previous = get(key);
+        additions.put(key, value);
+        return previous;
+    }
+
+    @Override
+    public Serializable remove(Object key) {
+        if (!additions.containsKey(key)) {
+            throw new UnsupportedOperationException("Context values can not be removed: " + key);
+        }
+        return additions.remove(key);
+    }
+
+    @Override
+    public Set<Entry<String, Serializable>> entrySet() {
+        return new AbstractSet<Entry<String, Serializable>>() {
+            @Override
+            public Iterator<Entry<String, Serializable>> iterator() {
+                Iterator<Entry<String, Serializable>> additionsIterator = additions.entrySet().iterator();
+                Iterator<String> contextIterator = context.keySet().iterator();
+                return new Iterator<Entry<String, Serializable>>() {
+                    private String nextContextKey = advance();
+
+                    private String advance() {
+                        while (contextIterator.hasNext()) {
+                            String key = contextIterator.next();
+                            if (!additions.containsKey(key)) {
+                                return key;
+                            }
+                        }
+                        return null;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return additionsIterator.hasNext() || nextContextKey != null;
+                    }
+
+                    @Override
+                    public Entry<String, Serializable> next() {
+                        if (additionsIterator.hasNext()) {
+                            return additionsIterator.next();
+                        }
+                        if (nextContextKey == null) {
+                            throw new NoSuchElementException();
+                        }
+                        String key = nextContextKey;
+                        nextContextKey = advance();
+                        return new SimpleImmutableEntry<>(key, wrap(key));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                int size = additions.size();
+                for (String key : context.keySet()) {
+                    if (!additions.containsKey(key)) {
+                        size++;
+                    }
+                }
+                return size;
+            }
+        };
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new HashMap<>(this);
+    }
+
+    private PyObjectValue wrap(String key) {
+        return wrapped.computeIfAbsent(key, name -> wrapper.apply(context.get(name)));
+    }
+}
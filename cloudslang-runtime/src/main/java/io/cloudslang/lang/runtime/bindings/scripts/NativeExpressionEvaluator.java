@@ -0,0 +1,296 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates the trivial expression forms directly in Java, without going through the python runtime:
+ * variable references, plain string literals, get('name', 'default'), check_empty(x, 'default') and the
+ * string cs_* helpers.
+ * <p>
+ * Expressions are parsed once and the parsed form is cached. Whenever an expression or the values it reads
+ * fall outside of what is known to behave exactly like the python functions in /scripts, the evaluator
+ * returns null and the caller evaluates the expression in python as before.
+ */
+class NativeExpressionEvaluator {
+
+    private static final int PARSED_EXPRESSIONS_CACHE_SIZE =
+            Integer.getInteger("cslang.expressions.nativeCacheSize", 10_000);
+
+    private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList(
+            "and", "as", "assert", "break", "class", "continue", "def", "del", "elif", "else", "except", "exec",
+            "finally", "for", "from", "global", "if", "import", "in", "is", "lambda", "not", "or", "pass",
+            "print", "raise", "return", "try", "while", "with", "yield", "None", "True", "False"));
+
+    private static final Term UNSUPPORTED = (context, evaluation) -> {
+        throw NotApplicableException.INSTANCE;
+    };
+
+    private final LoadingCache<String, Term> parsedExpressions = CacheBuilder.newBuilder()
+            .maximumSize(PARSED_EXPRESSIONS_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build(CacheLoader.from(NativeExpressionEvaluator::parse));
+
+    /**
+     * @return the evaluated value, or null if the expression has to be evaluated by the python runtime
+     */
+    Value evaluate(String expr, Map<String, Value> context) {
+        if (expr == null) {
+            return null;
+        }
+        Term term = parsedExpressions.getUnchecked(expr);
+        if (term == UNSUPPORTED) {
+            return null;
+        }
+        Evaluation evaluation = new Evaluation();
+        try {
+            String result = term.evaluate(context, evaluation);
+            return ValueFactory.create(result, evaluation.sensitive);
+        } catch (NotApplicableException ex) {
+            return null;
+        }
+    }
+
+    private static Term parse(String expr) {
+        Parser parser = new Parser(expr);
+        try {
+            Term term = parser.parseTerm();
+            parser.skipWhitespace();
+            return parser.isAtEnd() ? term : UNSUPPORTED;
+        } catch (NotApplicableException ex) {
+            return UNSUPPORTED;
+        }
+    }
+
+    private static Term variable(String name) {
+        return (context, evaluation) -> {
+            Value value = context.get(name);
+            if (value == null || !(value.get() instanceof String)) {
+                throw NotApplicableException.INSTANCE;
+            }
+            evaluation.sensitive |= value.isSensitive();
+            return (String) value.get();
+        };
+    }
+
+    private static Term literal(String text) {
+        return (context, evaluation) -> text;
+    }
+
+    private static Term function(String name, List<Term> args, List<Boolean> literalArgs) {
+        switch (name) {
+            case "get":
+                if (args.size() < 1 || args.size() > 2 || literalArgs.contains(false)) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> {
+                    String key = args.get(0).evaluate(context, evaluation);
+                    if (!context.containsKey(key)) {
+                        return args.size() == 2 ? args.get(1).evaluate(context, evaluation) : null;
+                    }
+                    return variable(key).evaluate(context, evaluation);
+                };
+            case "check_empty":
+                if (args.size() != 2 || !literalArgs.get(1)) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> {
+                    String value = args.get(0).evaluate(context, evaluation);
+                    return value == null ? args.get(1).evaluate(context, evaluation) : value;
+                };
+            case "cs_append":
+                if (args.size() != 2) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> notNone(args.get(0).evaluate(context, evaluation)) +
+                        notNone(args.get(1).evaluate(context, evaluation));
+            case "cs_prepend":
+                if (args.size() != 2) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> {
+                    String value = notNone(args.get(0).evaluate(context, evaluation));
+                    return notNone(args.get(1).evaluate(context, evaluation)) + value;
+                };
+            case "cs_replace":
+                if (args.size() != 3) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> {
+                    String string = notNone(args.get(0).evaluate(context, evaluation));
+                    String oldValue = notNone(args.get(1).evaluate(context, evaluation));
+                    String newValue = notNone(args.get(2).evaluate(context, evaluation));
+                    return string.replace(oldValue, newValue);
+                };
+            case "cs_to_upper":
+                if (args.size() != 1) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> asciiOnly(args.get(0).evaluate(context, evaluation))
+                        .toUpperCase(Locale.ROOT);
+            case "cs_to_lower":
+                if (args.size() != 1) {
+                    return UNSUPPORTED;
+                }
+                return (context, evaluation) -> asciiOnly(args.get(0).evaluate(context, evaluation))
+                        .toLowerCase(Locale.ROOT);
+            default:
+                return UNSUPPORTED;
+        }
+    }
+
+    // the cs_* functions reject None, so the python runtime reports the error
+    private static String notNone(String value) {
+        if (value == null) {
+            throw NotApplicableException.INSTANCE;
+        }
+        return value;
+    }
+
+    // python and java case mappings only agree on the ascii range
+    private static String asciiOnly(String value) {
+        notNone(value);
+        for (int index = 0; index < value.length(); index++) {
+            if (value.charAt(index) > 127) {
+                throw NotApplicableException.INSTANCE;
+            }
+        }
+        return value;
+    }
+
+    private interface Term {
+        String evaluate(Map<String, Value> context, Evaluation evaluation);
+    }
+
+    private static class Evaluation {
+        private boolean sensitive;
+    }
+
+    private static class Parser {
+
+        private final String text;
+        private int position;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private Term parseTerm() {
+            skipWhitespace();
+            if (isAtEnd()) {
+                throw NotApplicableException.INSTANCE;
+            }
+            char current = text.charAt(position);
+            if (current == '\'' || current == '"') {
+                return literal(parseString());
+            }
+            String identifier = parseIdentifier();
+            skipWhitespace();
+            if (!isAtEnd() && text.charAt(position) == '(') {
+                position++;
+                return parseFunction(identifier);
+            }
+            if (RESERVED_WORDS.contains(identifier)) {
+                throw NotApplicableException.INSTANCE;
+            }
+            return variable(identifier);
+        }
+
+        private Term parseFunction(String name) {
+            List<Term> args = new ArrayList<>();
+            List<Boolean> literalArgs = new ArrayList<>();
+            skipWhitespace();
+            if (!isAtEnd() && text.charAt(position) == ')') {
+                position++;
+                return function(name, args, literalArgs);
+            }
+            while (true) {
+                skipWhitespace();
+                literalArgs.add(!isAtEnd() && (text.charAt(position) == '\'' || text.charAt(position) == '"'));
+                args.add(parseTerm());
+                skipWhitespace();
+                if (isAtEnd()) {
+                    throw NotApplicableException.INSTANCE;
+                }
+                char current = text.charAt(position++);
+                if (current == ')') {
+                    return function(name, args, literalArgs);
+                } else if (current != ',') {
+                    throw NotApplicableException.INSTANCE;
+                }
+            }
+        }
+
+        // only printable ascii literals without escape sequences are handled natively
+        private String parseString() {
+            char quote = text.charAt(position++);
+            int start = position;
+            while (!isAtEnd() && text.charAt(position) != quote) {
+                char current = text.charAt(position);
+                if (current == '\\' || current < 32 || current > 126) {
+                    throw NotApplicableException.INSTANCE;
+                }
+                position++;
+            }
+            if (isAtEnd()) {
+                throw NotApplicableException.INSTANCE;
+            }
+            return text.substring(start, position++);
+        }
+
+        private String parseIdentifier() {
+            int start = position;
+            while (!isAtEnd() && isIdentifierChar(text.charAt(position), position == start)) {
+                position++;
+            }
+            if (start == position) {
+                throw NotApplicableException.INSTANCE;
+            }
+            return text.substring(start, position);
+        }
+
+        private boolean isIdentifierChar(char current, boolean first) {
+            return (current >= 'a' && current <= 'z') || (current >= 'A' && current <= 'Z') || current == '_' ||
+                    (!first && current >= '0' && current <= '9');
+        }
+
+        private void skipWhitespace() {
+            while (!isAtEnd() && (text.charAt(position) == ' ' || text.charAt(position) == '\t')) {
+                position++;
+            }
+        }
+
+        private boolean isAtEnd() {
+            return position >= text.length();
+        }
+    }
+
+    private static class NotApplicableException extends RuntimeException {
+
+        private static final NotApplicableException INSTANCE = new NotApplicableException();
+
+        private NotApplicableException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -9,6 +9,10 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
 import io.cloudslang.lang.entities.SystemProperty;
 import io.cloudslang.lang.entities.bindings.ScriptFunction;
 import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
@@ -26,12 +30,11 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * @author stoneo
@@ -47,9 +50,13 @@ public class ScriptEvaluator extends ScriptProcessor {
             LINE_SEPARATOR + "  pass";
     private static final boolean EXTERNAL_PYTHON = !Boolean.valueOf(
             System.getProperty("use.jython.expressions", "true"));
+    private static final boolean NATIVE_EXPRESSIONS = Boolean.valueOf(
+            System.getProperty("use.native.expressions", "true"));
 
 
     public static final int MAX_LENGTH = Integer.getInteger("input.error.max.length", 1000);
+    private static final int FUNCTIONS_SCRIPT_CACHE_SIZE =
+            Integer.getInteger("cslang.expressions.functionsScriptCacheSize", 1024);
 
     @Resource(name = "externalPythonRuntimeService")
     private PythonRuntimeService pythonRuntimeService;
@@ -60,13 +67,65 @@ public class ScriptEvaluator extends ScriptProcessor {
     @Autowired
     private ScriptsService scriptsService;
 
+    // the functions prelude depends only on the set of functions used by the expression,
+    // so it is built once per dependency set instead of once per evaluation
+    private final LoadingCache<Set<ScriptFunction>, String> externalPythonFunctionsScripts = CacheBuilder.newBuilder()
+            .maximumSize(FUNCTIONS_SCRIPT_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build(CacheLoader.from(this::doBuildAddFunctionsScriptForExternalPython));
+
+    private final LoadingCache<Set<ScriptFunction>, String> jythonFunctionsScripts = CacheBuilder.newBuilder()
+            .maximumSize(FUNCTIONS_SCRIPT_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build(CacheLoader.from(this::doBuildAddFunctionsScriptForJython));
+
+    private final NativeExpressionEvaluator nativeExpressionEvaluator = new NativeExpressionEvaluator();
+
     public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
                           Set<ScriptFunction> functionDependencies) {
+        return evalExpr(expr, "", context, systemProperties, functionDependencies);
+    }
+
+    /**
+     * Evaluates the expression against only the context variables it depends on.
+     *
+     * @param variableDependencies the variables the expression may read, as extracted at compile time,
+     *                             or null to evaluate against the whole context
+     */
+    public Value evalExpr(String expr, Map<String, Value> context, Set<SystemProperty> systemProperties,
+                          Set<ScriptFunction> functionDependencies, Set<String> variableDependencies) {
+        return evalExpr(expr, restrictContext(context, variableDependencies), systemProperties,
+                functionDependencies);
+    }
+
+    /**
+     * Evaluates the expression against only the context variables it depends on, after running a script
+     * that defines additional python functions the expression calls.
+     *
+     * @param functionsScript the script defining the additional functions
+     */
+    public Value evalExpr(String expr, String functionsScript, Map<String, Value> context,
+                          Set<SystemProperty> systemProperties, Set<ScriptFunction> functionDependencies,
+                          Set<String> variableDependencies) {
+        return evalExpr(expr, functionsScript, restrictContext(context, variableDependencies), systemProperties,
+                functionDependencies);
+    }
+
+    private Value evalExpr(String expr, String functionsScript, Map<String, Value> context,
+                           Set<SystemProperty> systemProperties, Set<ScriptFunction> functionDependencies) {
         try {
+            if (NATIVE_EXPRESSIONS) {
+                Value nativeResult = nativeExpressionEvaluator.evaluate(expr, context);
+                if (nativeResult != null) {
+                    return nativeResult;
+                }
+            }
             if (EXTERNAL_PYTHON) {
-                return doEvaluateExpressionExternalPython(expr, context, systemProperties, functionDependencies);
+                return doEvaluateExpressionExternalPython(expr, functionsScript, context, systemProperties,
+                        functionDependencies);
             } else {
-                return doEvaluateExpressionJython(expr, context, systemProperties, functionDependencies);
+                return doEvaluateExpressionJython(expr, functionsScript, context, systemProperties,
+                        functionDependencies);
             }
         } catch (Exception exception) {
             throw new RuntimeException("Error in evaluating expression: '" +
@@ -75,24 +134,40 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
     }
 
+    private Map<String, Value> restrictContext(Map<String, Value> context, Set<String> variableDependencies) {
+        if (variableDependencies == null) {
+            return context;
+        }
+        Map<String, Value> restrictedContext = new HashMap<>();
+        for (String variable : variableDependencies) {
+            if (context.containsKey(variable)) {
+                restrictedContext.put(variable, context.get(variable));
+            }
+        }
+        return restrictedContext;
+    }
+
     private Value doEvaluateExpressionJython(String expr,
+                                             String functionsScript,
                                              Map<String, Value> context,
                                              Set<SystemProperty> systemProperties,
                                              Set<ScriptFunction> functionDependencies) {
-        Map<String, Serializable> jythonContext = createJythonContext(context);
+        Map<String, Serializable> jythonContext = createLazyJythonContext(context);
         boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
         if (systemPropertiesDefined) {
             jythonContext.put(SYSTEM_PROPERTIES_MAP,
                     (Serializable) prepareSystemPropertiesForJython(systemProperties));
         }
-        return processJythonEvaluation(expr, jythonContext, systemPropertiesDefined, functionDependencies);
+        return processJythonEvaluation(expr, functionsScript, jythonContext, systemPropertiesDefined,
+                functionDependencies);
     }
 
     private Value doEvaluateExpressionExternalPython(String expr,
+                                                     String functionsScript,
                                                      Map<String, Value> context,
                                                      Set<SystemProperty> systemProperties,
                                                      Set<ScriptFunction> functionDependencies) {
-        Map<String, Serializable> pythonContext = createExternalPythonContext(context);
+        Map<String, Serializable> pythonContext = createLazyExternalPythonContext(context);
         boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
         if (systemPropertiesDefined) {
             pythonContext.put(SYSTEM_PROPERTIES_MAP,
@@ -100,7 +175,8 @@ public class ScriptEvaluator extends ScriptProcessor {
         }
 
         PythonEvaluationResult result = pythonRuntimeService.eval(
-                buildAddFunctionsScriptForExternalPython(functionDependencies), expr, pythonContext);
+                appendScript(buildAddFunctionsScriptForExternalPython(functionDependencies), functionsScript), expr,
+                pythonContext);
 
         //noinspection unchecked
         Set<String> accessedResources = (Set<String>) result.getResultContext().get(ACCESSED_RESOURCES_SET);
@@ -128,7 +204,7 @@ public class ScriptEvaluator extends ScriptProcessor {
                                Set<SystemProperty> systemProperties,
                                Set<ScriptFunction> functionDependencies,
                                long timeoutPeriod) {
-        Map<String, Serializable> pythonContext = createJythonContext(context);
+        Map<String, Serializable> pythonContext = createLazyJythonContext(context);
         boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
         if (systemPropertiesDefined) {
             pythonContext.put(SYSTEM_PROPERTIES_MAP,
@@ -143,7 +219,7 @@ public class ScriptEvaluator extends ScriptProcessor {
                                        Set<SystemProperty> systemProperties,
                                        Set<ScriptFunction> functionDependencies,
                                        long timeoutPeriod) {
-        Map<String, Serializable> pythonContext = createExternalPythonContext(context);
+        Map<String, Serializable> pythonContext = createLazyExternalPythonContext(context);
         boolean systemPropertiesDefined = functionDependencies.contains(ScriptFunction.GET_SYSTEM_PROPERTY);
         if (systemPropertiesDefined) {
             pythonContext.put(SYSTEM_PROPERTIES_MAP,
@@ -164,29 +240,41 @@ public class ScriptEvaluator extends ScriptProcessor {
     }
 
     private String buildAddFunctionsScriptForExternalPython(Set<ScriptFunction> functionDependencies) {
-        String functions = "";
+        return externalPythonFunctionsScripts.getUnchecked(ImmutableSet.copyOf(functionDependencies));
+    }
+
+    private String buildAddFunctionsScriptForJython(Set<ScriptFunction> functionDependencies) {
+        return jythonFunctionsScripts.getUnchecked(ImmutableSet.copyOf(functionDependencies));
+    }
+
+    private String doBuildAddFunctionsScriptForExternalPython(Set<ScriptFunction> functionDependencies) {
+        StringBuilder functions = new StringBuilder();
         for (ScriptFunction function : functionDependencies) {
-            functions += scriptsService.getScript(function);
-            functions = appendDelimiterBetweenFunctions(functions);
+            functions.append(scriptsService.getScript(function));
+            appendDelimiterBetweenFunctions(functions);
         }
-        return functions;
+        return functions.toString();
     }
 
-    private String buildAddFunctionsScriptForJython(Set<ScriptFunction> functionDependencies) {
-        String functions = "";
+    private String doBuildAddFunctionsScriptForJython(Set<ScriptFunction> functionDependencies) {
+        StringBuilder functions = new StringBuilder();
         for (ScriptFunction function : functionDependencies) {
-            functions += scriptsService.getScript(function);
-            functions = appendDelimiterBetweenFunctions(functions);
+            functions.append(scriptsService.getScript(function));
+            appendDelimiterBetweenFunctions(functions);
         }
         if (functionDependencies.size() > 0) {
-            functions += BACKWARD_COMPATIBLE_ACCESS_METHOD;
-            functions = appendDelimiterBetweenFunctions(functions);
+            functions.append(BACKWARD_COMPATIBLE_ACCESS_METHOD);
+            appendDelimiterBetweenFunctions(functions);
         }
-        return functions;
+        return functions.toString();
+    }
+
+    private String appendScript(String functions, String functionsScript) {
+        return functionsScript.isEmpty() ? functions : functions + functionsScript;
     }
 
-    private String appendDelimiterBetweenFunctions(String text) {
-        return text + LINE_SEPARATOR + LINE_SEPARATOR;
+    private void appendDelimiterBetweenFunctions(StringBuilder text) {
+        text.append(LINE_SEPARATOR).append(LINE_SEPARATOR);
     }
 
     private Map<String, Value> prepareSystemPropertiesForExternalPython(Set<SystemProperty> properties) {
@@ -220,19 +308,22 @@ public class ScriptEvaluator extends ScriptProcessor {
         if (CollectionUtils.isEmpty(accessedVariables)) {
             return false;
         }
-        Collection<Serializable> accessedValues = fullContext.entrySet().stream()
-                .flatMap(entry -> {
-                    if (entry.getValue() instanceof Map) {
-                        //noinspection unchecked
-                        Map<String, Serializable> nestedContext = (Map<String, Serializable>) entry.getValue();
-                        return nestedContext.entrySet().stream();
-                    } else {
-                        return Stream.of(entry);
-                    }
-                })
-                .filter(entry -> accessedVariables.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
+        // only the accessed variables are looked up, so the values of a lazy context are not all wrapped
+        Serializable systemProperties = fullContext.get(SYSTEM_PROPERTIES_MAP);
+        Collection<Serializable> accessedValues = new ArrayList<>();
+        for (String accessedVariable : accessedVariables) {
+            Serializable value = fullContext.get(accessedVariable);
+            if (value != null && !(value instanceof Map)) {
+                accessedValues.add(value);
+            }
+            if (systemProperties instanceof Map) {
+                //noinspection unchecked
+                Serializable systemProperty = ((Map<String, Serializable>) systemProperties).get(accessedVariable);
+                if (systemProperty != null) {
+                    accessedValues.add(systemProperty);
+                }
+            }
+        }
         return checkSensitivity(accessedValues);
     }
 
@@ -264,11 +355,13 @@ public class ScriptEvaluator extends ScriptProcessor {
     }
 
     //region Legacy Content
-    private Value processJythonEvaluation(String expr, Map<String, Serializable> jythonContext,
+    private Value processJythonEvaluation(String expr, String functionsScript,
+                                          Map<String, Serializable> jythonContext,
                                           boolean systemPropertiesDefined,
                                           Set<ScriptFunction> functionDependencies) {
         PythonEvaluationResult result = legacyJythonRuntimeService.eval(
-                buildAddFunctionsScriptForJython(functionDependencies), expr, jythonContext);
+                appendScript(buildAddFunctionsScriptForJython(functionDependencies), functionsScript), expr,
+                jythonContext);
         if (systemPropertiesDefined) {
             jythonContext.remove(SYSTEM_PROPERTIES_MAP);
         }
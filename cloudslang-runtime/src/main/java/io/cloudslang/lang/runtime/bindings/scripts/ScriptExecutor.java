@@ -9,6 +9,8 @@
  *******************************************************************************/
 package io.cloudslang.lang.runtime.bindings.scripts;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.cloudslang.lang.compiler.utils.ExternalPythonScriptUtils;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.lang.entities.bindings.values.ValueFactory;
@@ -20,26 +22,32 @@ import org.springframework.stereotype.Component;
 import javax.annotation.Resource;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-import static java.util.stream.Collectors.toMap;
-
 /**
  * @author Bonczidai Levente
  * @since 1/19/2016
  */
 @Component
 public class ScriptExecutor extends ScriptProcessor {
+    private static final int SCRIPT_PARAMS_CACHE_SIZE =
+            Integer.getInteger("cslang.python.scriptParamsCacheSize", 1024);
+
     @Resource(name = "jythonRuntimeService")
     private PythonRuntimeService pythonRuntimeService;
 
     @Resource(name = "externalPythonRuntimeService")
     private PythonRuntimeService externalPytonRuntimeService;
 
+    // the same operation scripts run over and over, so their execute signature is parsed once per script
+    private final Cache<String, String[]> scriptParamsCache = CacheBuilder.newBuilder()
+            .maximumSize(SCRIPT_PARAMS_CACHE_SIZE)
+            .concurrencyLevel(2 * Runtime.getRuntime().availableProcessors())
+            .build();
+
     public Map<String, Value> executeScript(String script, Map<String, Value> callArguments, boolean useJython) {
         return executeScript(Collections.emptySet(), script, callArguments, useJython);
     }
@@ -56,13 +64,17 @@ public class ScriptExecutor extends ScriptProcessor {
     private Map<String, Value> runExternalPythonAction(Set<String> dependencies, String script,
                                                        Map<String, Value> callArguments) {
 
-        String[] scriptParams = ExternalPythonScriptUtils.getScriptParams(script);
-        Map<String, Value> neededArguments = callArguments.entrySet().stream()
-                .filter(entry -> Arrays.asList(scriptParams).contains(entry.getKey()))
-                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
+        String[] scriptParams = getScriptParams(script);
+        Map<String, Serializable> pythonContext = new HashMap<>();
+        for (String scriptParam : scriptParams) {
+            if (callArguments.containsKey(scriptParam)) {
+                pythonContext.put(scriptParam,
+                        ValueFactory.createPyObjectValueForExternalPython(callArguments.get(scriptParam)));
+            }
+        }
 
         Map<String, Serializable> executionResult = externalPytonRuntimeService.exec(dependencies, script,
-                createExternalPythonContext(neededArguments)).getExecutionResult();
+                pythonContext).getExecutionResult();
 
         Map<String, Value> result = new HashMap<>();
         for (Map.Entry<String, Serializable> entry : executionResult.entrySet()) {
@@ -73,11 +85,20 @@ public class ScriptExecutor extends ScriptProcessor {
         return result;
     }
 
+    private String[] getScriptParams(String script) {
+        String[] scriptParams = scriptParamsCache.getIfPresent(script);
+        if (scriptParams == null) {
+            scriptParams = ExternalPythonScriptUtils.getScriptParams(script);
+            scriptParamsCache.put(script, scriptParams);
+        }
+        return scriptParams;
+    }
+
     private Map<String, Value> runJythonAction(Set<String> dependencies, String script,
                                                Map<String, Value> callArguments) {
 
         Map<String, Serializable> executionResult = pythonRuntimeService
-                .exec(dependencies, script, createJythonContext(callArguments)).getExecutionResult();
+                .exec(dependencies, script, createLazyJythonContext(callArguments)).getExecutionResult();
 
         Map<String, Value> result = new HashMap<>();
         for (Map.Entry<String, Serializable> entry : executionResult.entrySet()) {
@@ -33,4 +33,12 @@ public abstract class ScriptProcessor {
         }
         return pythonContext;
     }
+
+    protected Map<String, Serializable> createLazyJythonContext(Map<String, Value> context) {
+        return new LazyPythonContext(context, ValueFactory::createPyObjectValueForJython);
+    }
+
+    protected Map<String, Serializable> createLazyExternalPythonContext(Map<String, Value> context) {
+        return new LazyPythonContext(context, ValueFactory::createPyObjectValueForExternalPython);
+    }
 }
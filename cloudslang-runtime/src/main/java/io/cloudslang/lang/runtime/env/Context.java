@@ -31,6 +31,20 @@ public class Context implements Serializable {
         this.langVariables = new HashMap<>();
     }
 
+    private Context(Context source) {
+        this.variables = new HashMap<>(source.variables);
+        this.langVariables = new HashMap<>(source.langVariables);
+        this.magicVariables = source.magicVariables;
+    }
+
+    /**
+     * Creates a copy of this context with its own variable maps, which costs one map copy per variable map
+     * instead of a serialization round trip. The values themselves are shared with this context.
+     */
+    public Context shallowCopy() {
+        return new Context(this);
+    }
+
     public Value getVariable(String name) {
         return variables.get(name);
     }
@@ -19,9 +19,11 @@ import io.cloudslang.lang.entities.bindings.prompt.Prompt;
 import io.cloudslang.lang.entities.bindings.values.SensitiveValue;
 import io.cloudslang.lang.entities.bindings.values.Value;
 import io.cloudslang.score.api.StatefulSessionStack;
+import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.Validate;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -96,6 +98,35 @@ public class RunEnvironment implements Serializable {
         this(new HashSet<SystemProperty>());
     }
 
+    /**
+     * Creates the run environment of a parallel loop branch: the same state as this environment, with empty
+     * context and parent flow stacks.
+     * The maps are copied shallowly instead of serializing the whole environment, so the values are shared with
+     * this environment. The session data, i.e. the serializable data map and the stateful session stack, is still
+     * deep copied through serialization, since actions are allowed to modify it.
+     */
+    @SuppressWarnings("unchecked")
+    public RunEnvironment createBranchEnvironment() {
+        RunEnvironment branchEnvironment = new RunEnvironment(systemProperties);
+        branchEnvironment.callArguments = new HashMap<>(callArguments);
+        branchEnvironment.returnValues = returnValues;
+        branchEnvironment.nextStepPosition = nextStepPosition;
+        if (navigationOptions != null) {
+            branchEnvironment.navigationOptions = new HashMap<>(navigationOptions);
+        }
+        branchEnvironment.executionPath = new ExecutionPath(executionPath);
+        branchEnvironment.serializableDataMap =
+                (Map<String, SerializableSessionObject>) SerializationUtils.clone((Serializable) serializableDataMap);
+        branchEnvironment.statefulSessionStack = SerializationUtils.clone(statefulSessionStack);
+        branchEnvironment.promptArguments = new LinkedHashMap<>(promptArguments);
+        branchEnvironment.promptedValues = new HashMap<>(promptedValues);
+        branchEnvironment.contextModified = contextModified;
+        if (modifiedArguments != null) {
+            branchEnvironment.modifiedArguments = new ArrayList<>(modifiedArguments);
+        }
+        return branchEnvironment;
+    }
+
     public ContextStack getStack() {
         return contextStack;
     }
@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,12 +52,23 @@ import java.util.stream.Collectors;
 
 import static io.cloudslang.lang.entities.properties.EventVerbosityLevel.ALL;
 import static io.cloudslang.lang.entities.properties.EventVerbosityLevel.DEFAULT;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_DISABLED;
 import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_VERBOSITY;
 import static io.cloudslang.lang.entities.utils.ValueUtils.flatten;
 import static java.lang.System.getProperty;
 
 public abstract class AbstractExecutionData {
 
+    // the events system properties are read when an executable starts instead of for every event
+    private static volatile EventSettings eventSettings = EventSettings.fromSystemProperties();
+
+    /**
+     * Reads again the events verbosity and the event types which are not fired.
+     */
+    public static void reloadEventSettings() {
+        eventSettings = EventSettings.fromSystemProperties();
+    }
+
     @SafeVarargs
     public static void fireEvent(ExecutionRuntimeServices runtimeServices,
                                  RunEnvironment runEnvironment,
@@ -79,9 +91,15 @@ public abstract class AbstractExecutionData {
                                  String stepName,
                                  Map<String, Value> context,
                                  Map.Entry<String, ? extends Serializable>... fields) {
+        EventSettings settings = eventSettings;
+        if (settings.isDisabled(type)) {
+            return;
+        }
         LanguageEventData eventData = getLanguageEventData(runtimeServices, type, description,
                 path, stepType, stepName);
-        flattenAndSetContext(eventData, context);
+        if (settings.isContextInEvents() && (context != null)) {
+            eventData.setContext(flatten(context));
+        }
         addEventToRuntime(runtimeServices, type, eventData, fields);
     }
 
@@ -94,10 +112,15 @@ public abstract class AbstractExecutionData {
                                  String stepName,
                                  ReadOnlyContextAccessor contextAccessor,
                                  Map.Entry<String, ? extends Serializable>... fields) {
-
+        EventSettings settings = eventSettings;
+        if (settings.isDisabled(type)) {
+            return;
+        }
         LanguageEventData eventData = getLanguageEventData(runtimeServices, type, description,
                 runEnvironment.getExecutionPath().getCurrentPath(), stepType, stepName);
-        flattenAndSetContext(eventData, contextAccessor);
+        if (settings.isContextInEvents() && (contextAccessor != null)) {
+            eventData.setContext(flatten(contextAccessor.getContextHolder()));
+        }
         addEventToRuntime(runtimeServices, type, eventData, fields);
     }
 
@@ -118,20 +141,6 @@ public abstract class AbstractExecutionData {
         return eventData;
     }
 
-    private static void flattenAndSetContext(LanguageEventData eventData, Map<String, Value> context) {
-        if (ALL.getValue().equals(getProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(),
-                DEFAULT.getValue())) && (context != null)) {
-            eventData.setContext(flatten(context));
-        }
-    }
-
-    private static void flattenAndSetContext(LanguageEventData eventData, ReadOnlyContextAccessor accessor) {
-        if (ALL.getValue().equals(getProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(),
-                DEFAULT.getValue())) && (accessor != null)) {
-            eventData.setContext(flatten(accessor.getContextHolder()));
-        }
-    }
-
     private static void addEventToRuntime(ExecutionRuntimeServices runtimeServices,
                                           String type,
                                           LanguageEventData eventData,
@@ -452,4 +461,34 @@ public abstract class AbstractExecutionData {
     }
 
 
+
+    private static class EventSettings {
+        private final boolean contextInEvents;
+        private final Set<String> disabledEventTypes;
+
+        private EventSettings(boolean contextInEvents, Set<String> disabledEventTypes) {
+            this.contextInEvents = contextInEvents;
+            this.disabledEventTypes = disabledEventTypes;
+        }
+
+        private static EventSettings fromSystemProperties() {
+            boolean contextInEvents = ALL.getValue().equals(getProperty(CSLANG_RUNTIME_EVENTS_VERBOSITY.getValue(),
+                    DEFAULT.getValue()));
+            Set<String> disabledEventTypes = new HashSet<>();
+            for (String eventType : getProperty(CSLANG_RUNTIME_EVENTS_DISABLED.getValue(), "").split(",")) {
+                if (!eventType.trim().isEmpty()) {
+                    disabledEventTypes.add(eventType.trim());
+                }
+            }
+            return new EventSettings(contextInEvents, disabledEventTypes);
+        }
+
+        private boolean isContextInEvents() {
+            return contextInEvents;
+        }
+
+        private boolean isDisabled(String eventType) {
+            return !disabledEventTypes.isEmpty() && disabledEventTypes.contains(eventType);
+        }
+    }
 }
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of the action call arguments which unwraps each {@link Value} when it is read,
+ * instead of copying the unwrapped arguments into a new map before every action.
+ */
+class ActionContext extends AbstractMap<String, Serializable> {
+
+    private final Map<String, Value> callArguments;
+
+    ActionContext(Map<String, Value> callArguments) {
+        this.callArguments = callArguments;
+    }
+
+    @Override
+    public Serializable get(Object key) {
+        return unwrap(callArguments.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return callArguments.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return callArguments.size();
+    }
+
+    @Override
+    public Set<Entry<String, Serializable>> entrySet() {
+        return new AbstractSet<Entry<String, Serializable>>() {
+            @Override
+            public Iterator<Entry<String, Serializable>> iterator() {
+                Iterator<Entry<String, Value>> iterator = callArguments.entrySet().iterator();
+                return new Iterator<Entry<String, Serializable>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Serializable> next() {
+                        Entry<String, Value> entry = iterator.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), unwrap(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return callArguments.size();
+            }
+        };
+    }
+
+    private static Serializable unwrap(Value value) {
+        return value == null ? null : value.get();
+    }
+}
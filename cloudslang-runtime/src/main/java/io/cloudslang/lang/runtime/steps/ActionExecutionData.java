@@ -38,6 +38,7 @@ import java.io.Serializable;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -99,12 +100,9 @@ public class ActionExecutionData extends AbstractExecutionData {
                          @Param(ExecutionParametersConsts.EXECUTION) Serializable execution) {
 
         Map<String, Value> returnValue = new HashMap<>();
-        Map<String, Value> callArguments = runEnv.removeCallArguments();
-        Map<String, Value> callArgumentsDeepCopy = new HashMap<>();
-
-        for (Map.Entry<String, Value> entry : callArguments.entrySet()) {
-            callArgumentsDeepCopy.put(entry.getKey(), ValueFactory.create(entry.getValue()));
-        }
+        // the events copy the arguments when they are fired, and the read-only view keeps them
+        // unchanged until the action end event
+        Map<String, Value> callArguments = Collections.unmodifiableMap(runEnv.removeCallArguments());
 
         Map<String, SerializableSessionObject> serializableSessionData = runEnv.getSerializableDataMap();
         fireEvent(
@@ -114,8 +112,8 @@ public class ActionExecutionData extends AbstractExecutionData {
                 runEnv.getExecutionPath().getParentPath(),
                 LanguageEventData.StepType.ACTION,
                 null,
-                callArgumentsDeepCopy,
-                Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable) callArgumentsDeepCopy));
+                callArguments,
+                Pair.of(LanguageEventData.CALL_ARGUMENTS, (Serializable) callArguments));
         try {
             switch (actionType) {
                 case JAVA:
@@ -144,7 +142,7 @@ public class ActionExecutionData extends AbstractExecutionData {
                     runEnv.getExecutionPath().getParentPath(),
                     LanguageEventData.StepType.ACTION,
                     null,
-                    callArgumentsDeepCopy,
+                    callArguments,
                     Pair.of(LanguageEventData.EXCEPTION, ex.getMessage()));
             logger.error(ex);
             throw (ex);
@@ -159,7 +157,7 @@ public class ActionExecutionData extends AbstractExecutionData {
                 runEnv.getExecutionPath().getParentPath(),
                 LanguageEventData.StepType.ACTION,
                 null,
-                callArgumentsDeepCopy
+                callArguments
         );
 
         if (!SEQUENTIAL.equals(actionType.getValue())) {
@@ -246,11 +244,7 @@ public class ActionExecutionData extends AbstractExecutionData {
     }
 
     protected Map<String, Serializable> createActionContext(Map<String, Value> context) {
-        Map<String, Serializable> result = new HashMap<>();
-        for (Map.Entry<String, Value> entry : context.entrySet()) {
-            result.put(entry.getKey(), entry.getValue() == null ? null : entry.getValue().get());
-        }
-        return result;
+        return new ActionContext(context);
     }
 
     protected Map<String, Value> handleSensitiveValues(Map<String, Serializable> executionResult,
@@ -0,0 +1,390 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import io.cloudslang.lang.runtime.RuntimeConstants;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.cloudslang.lang.entities.utils.ExpressionUtils.extractExpression;
+
+/**
+ * Aggregate of a parallel loop publish expression, folded over the finished branches one by one while they are
+ * collected, so the join step keeps one accumulator per publish output instead of the list of all the branch
+ * contexts.
+ * <p>
+ * Only the following forms of expressions are folded, where x is any name, 'key' is a quoted variable name and
+ * the comprehension may be filtered with <code>if x['key'] == 'literal'</code> or <code>!=</code>:
+ * <ul>
+ * <li><code>len(branches_context)</code> and <code>len([x for x in branches_context if ...])</code>, a counter</li>
+ * <li><code>'separator'.join([x['key'] for x in branches_context])</code>, a concatenation of string values</li>
+ * <li><code>sum([int(x['key']) for x in branches_context])</code>, a sum of integers</li>
+ * <li><code>min(...)</code> and <code>max(...)</code> of <code>int(x['key'])</code> or of string values</li>
+ * <li><code>[x['key'] for x in branches_context if ...][0]</code>, the first value, e.g. of the first failure</li>
+ * </ul>
+ * each of them optionally wrapped in <code>str(...)</code>. The folded values are the ones the expressions
+ * evaluate to for decimal integers and string values; values python would order or convert in another way,
+ * e.g. None in min or max, are reported as errors.
+ */
+class BranchesContextFold implements Supplier<Value> {
+
+    private static final String NAME = "[A-Za-z_][A-Za-z0-9_]*";
+    private static final String STRING = "(?:'[^'\\\\]*'|\"[^\"\\\\]*\")";
+    private static final String COMPREHENSION = "\\[\\s*(.+?)\\s+for\\s+(" + NAME + ")\\s+in\\s+" +
+            RuntimeConstants.BRANCHES_CONTEXT_KEY + "(?:\\s+if\\s+(" + NAME + ")\\s*\\[\\s*(" + STRING +
+            ")\\s*\\]\\s*(==|!=)\\s*(" + STRING + "))?\\s*\\]";
+
+    private static final Pattern STR_PATTERN = Pattern.compile("str\\s*\\(\\s*(.+)\\s*\\)", Pattern.DOTALL);
+    private static final Pattern COUNT_ALL_PATTERN =
+            Pattern.compile("len\\s*\\(\\s*" + RuntimeConstants.BRANCHES_CONTEXT_KEY + "\\s*\\)");
+    private static final Pattern COUNT_PATTERN = Pattern.compile("len\\s*\\(\\s*" + COMPREHENSION + "\\s*\\)",
+            Pattern.DOTALL);
+    private static final Pattern JOIN_PATTERN = Pattern.compile("(" + STRING + ")\\s*\\.\\s*join\\s*\\(\\s*" +
+            COMPREHENSION + "\\s*\\)", Pattern.DOTALL);
+    private static final Pattern AGGREGATE_PATTERN = Pattern.compile("(sum|min|max)\\s*\\(\\s*" +
+            COMPREHENSION + "\\s*\\)", Pattern.DOTALL);
+    private static final Pattern FIRST_PATTERN = Pattern.compile(COMPREHENSION + "\\s*\\[\\s*0\\s*\\]",
+            Pattern.DOTALL);
+    private static final Pattern KEY_ELEMENT_PATTERN =
+            Pattern.compile("(" + NAME + ")\\s*\\[\\s*(" + STRING + ")\\s*\\]");
+    private static final Pattern INT_ELEMENT_PATTERN =
+            Pattern.compile("int\\s*\\(\\s*(" + NAME + ")\\s*\\[\\s*(" + STRING + ")\\s*\\]\\s*\\)");
+
+    private enum Kind { COUNT, JOIN, SUM, MIN, MAX, FIRST }
+
+    private final String expression;
+    private final Kind kind;
+    private final boolean toString;
+    private final String separator;
+    // the key of the branch variable the element reads, null for the branch itself
+    private final String elementKey;
+    private final boolean integerElement;
+    private final String filterKey;
+    private final String filterValue;
+    private final boolean filterEquals;
+
+    private int count;
+    private Serializable accumulator;
+    private StringBuilder joined;
+    // the first error of the comprehension, which python raises before applying the aggregate
+    private RuntimeException elementError;
+    private RuntimeException aggregateError;
+
+    private BranchesContextFold(String expression, Kind kind, boolean toString, String separator,
+                                String elementKey, boolean integerElement,
+                                String filterKey, String filterValue, boolean filterEquals) {
+        this.expression = expression;
+        this.kind = kind;
+        this.toString = toString;
+        this.separator = separator;
+        this.elementKey = elementKey;
+        this.integerElement = integerElement;
+        this.filterKey = filterKey;
+        this.filterValue = filterValue;
+        this.filterEquals = filterEquals;
+    }
+
+    /**
+     * @param publishValues the publish outputs of the parallel loop step
+     * @return the folds of the outputs that read the branch contexts, by output name, or null if one of them
+     *     is not one of the folded forms and so needs the branch contexts
+     */
+    static Map<String, BranchesContextFold> create(List<Output> publishValues) {
+        Map<String, BranchesContextFold> folds = new LinkedHashMap<>();
+        if (publishValues == null) {
+            return folds;
+        }
+        for (Output output : publishValues) {
+            Value rawValue = output.getValue();
+            String expression = extractExpression(rawValue == null ? null : rawValue.get());
+            if (expression == null || !expression.contains(RuntimeConstants.BRANCHES_CONTEXT_KEY)) {
+                continue;
+            }
+            BranchesContextFold fold = parse(expression.trim());
+            if (fold == null) {
+                return null;
+            }
+            folds.put(output.getName(), fold);
+        }
+        return folds;
+    }
+
+    static BranchesContextFold parse(String expression) {
+        Matcher matcher = STR_PATTERN.matcher(expression);
+        boolean toString = matcher.matches();
+        String aggregate = toString ? matcher.group(1).trim() : expression;
+
+        if (COUNT_ALL_PATTERN.matcher(aggregate).matches()) {
+            return new BranchesContextFold(expression, Kind.COUNT, toString, null, null, false, null, null, true);
+        }
+        matcher = COUNT_PATTERN.matcher(aggregate);
+        if (matcher.matches()) {
+            return create(expression, Kind.COUNT, toString, null, matcher, 1);
+        }
+        matcher = JOIN_PATTERN.matcher(aggregate);
+        if (matcher.matches()) {
+            return create(expression, Kind.JOIN, toString, unquote(matcher.group(1)), matcher, 2);
+        }
+        matcher = AGGREGATE_PATTERN.matcher(aggregate);
+        if (matcher.matches()) {
+            Kind kind = Kind.valueOf(matcher.group(1).toUpperCase(Locale.ENGLISH));
+            return create(expression, kind, toString, null, matcher, 2);
+        }
+        matcher = FIRST_PATTERN.matcher(aggregate);
+        if (matcher.matches()) {
+            return create(expression, Kind.FIRST, toString, null, matcher, 1);
+        }
+        return null;
+    }
+
+    private static BranchesContextFold create(String expression, Kind kind, boolean toString, String separator,
+                                              Matcher matcher, int group) {
+        String element = matcher.group(group).trim();
+        String variable = matcher.group(group + 1);
+        String filterVariable = matcher.group(group + 2);
+        if (filterVariable != null && !filterVariable.equals(variable)) {
+            return null;
+        }
+        String filterKey = filterVariable == null ? null : unquote(matcher.group(group + 3));
+        boolean filterEquals = filterVariable == null || "==".equals(matcher.group(group + 4));
+        String filterValue = filterVariable == null ? null : unquote(matcher.group(group + 5));
+
+        String elementKey = null;
+        boolean integerElement = false;
+        Matcher elementMatcher = INT_ELEMENT_PATTERN.matcher(element);
+        if (elementMatcher.matches()) {
+            integerElement = true;
+        } else {
+            elementMatcher = KEY_ELEMENT_PATTERN.matcher(element);
+            if (!elementMatcher.matches()) {
+                elementMatcher = null;
+            }
+        }
+        if (elementMatcher != null) {
+            if (!elementMatcher.group(1).equals(variable)) {
+                return null;
+            }
+            elementKey = unquote(elementMatcher.group(2));
+        } else if (!element.equals(variable)) {
+            return null;
+        }
+
+        boolean valid;
+        switch (kind) {
+            case COUNT:
+                valid = true;
+                break;
+            case SUM:
+                valid = integerElement;
+                break;
+            case MIN:
+            case MAX:
+                valid = elementKey != null;
+                break;
+            default:
+                valid = elementKey != null && !integerElement;
+        }
+        return valid ? new BranchesContextFold(expression, kind, toString, separator, elementKey, integerElement,
+                filterKey, filterValue, filterEquals) : null;
+    }
+
+    /**
+     * Folds a finished branch, in the order of the branches.
+     *
+     * @param branchVariables the variables of the branch context
+     * @param branchResult    the result of the branch
+     */
+    void accept(Map<String, Value> branchVariables, String branchResult) {
+        if (elementError != null) {
+            return;
+        }
+        Serializable element = null;
+        try {
+            if (filterKey != null &&
+                    filterEquals != filterValue.equals(getBranchValue(branchVariables, branchResult, filterKey))) {
+                return;
+            }
+            if (elementKey != null) {
+                element = getBranchValue(branchVariables, branchResult, elementKey);
+                if (integerElement) {
+                    element = toInteger(element);
+                }
+            }
+        } catch (RuntimeException e) {
+            elementError = e;
+            return;
+        }
+        if (aggregateError == null) {
+            try {
+                fold(element);
+            } catch (RuntimeException e) {
+                aggregateError = e;
+            }
+        }
+        count++;
+    }
+
+    private void fold(Serializable element) {
+        switch (kind) {
+            case JOIN:
+                if (!(element instanceof String)) {
+                    throw new RuntimeException("TypeError: sequence item " + count + ": expected string, " +
+                            getTypeName(element) + " found");
+                }
+                if (joined == null) {
+                    joined = new StringBuilder();
+                } else {
+                    joined.append(separator);
+                }
+                joined.append((String) element);
+                break;
+            case SUM:
+                accumulator = accumulator == null ? element : ((BigInteger) accumulator).add((BigInteger) element);
+                break;
+            case MIN:
+            case MAX:
+                if (!(element instanceof String || element instanceof BigInteger)) {
+                    throw new RuntimeException("Values of type " + getTypeName(element) +
+                            " can not be compared in a folded " + kind.name().toLowerCase(Locale.ENGLISH) + "()");
+                }
+                if (accumulator == null) {
+                    accumulator = element;
+                } else {
+                    int comparison = compare(element, accumulator);
+                    if (kind == Kind.MIN ? comparison < 0 : comparison > 0) {
+                        accumulator = element;
+                    }
+                }
+                break;
+            case FIRST:
+                if (count == 0) {
+                    accumulator = element;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public Value get() {
+        if (elementError != null || aggregateError != null) {
+            throw evaluationError((elementError != null ? elementError : aggregateError).getMessage());
+        }
+        Serializable result;
+        switch (kind) {
+            case COUNT:
+                result = count;
+                break;
+            case JOIN:
+                result = joined == null ? "" : joined.toString();
+                break;
+            case SUM:
+                result = toPythonInteger(accumulator == null ? BigInteger.ZERO : (BigInteger) accumulator);
+                break;
+            case MIN:
+            case MAX:
+                if (count == 0) {
+                    throw evaluationError("ValueError: " + kind.name().toLowerCase(Locale.ENGLISH) +
+                            "() arg is an empty sequence");
+                }
+                result = accumulator instanceof BigInteger ? toPythonInteger((BigInteger) accumulator) : accumulator;
+                break;
+            default:
+                if (count == 0) {
+                    throw evaluationError("IndexError: list index out of range");
+                }
+                result = accumulator;
+        }
+        if (toString) {
+            result = toPythonString(result);
+        }
+        return ValueFactory.create(result);
+    }
+
+    private Serializable getBranchValue(Map<String, Value> branchVariables, String branchResult, String key) {
+        if (ScoreLangConstants.BRANCH_RESULT_KEY.equals(key)) {
+            return branchResult;
+        }
+        if (!branchVariables.containsKey(key)) {
+            throw new RuntimeException("KeyError: '" + key + "'");
+        }
+        Value value = branchVariables.get(key);
+        return value == null ? null : value.get();
+    }
+
+    private BigInteger toInteger(Serializable value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        } else if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof String) {
+            String text = ((String) value).trim();
+            try {
+                return new BigInteger(text.startsWith("+") ? text.substring(1) : text);
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("ValueError: invalid literal for int() with base 10: '" + value + "'");
+            }
+        }
+        throw new RuntimeException("Values of type " + getTypeName(value) + " can not be converted in a folded int()");
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Serializable element, Serializable current) {
+        if (element.getClass() != current.getClass()) {
+            throw new RuntimeException("Values of type " + getTypeName(element) + " and " + getTypeName(current) +
+                    " can not be compared in a folded " + kind.name().toLowerCase(Locale.ENGLISH) + "()");
+        }
+        return ((Comparable<Serializable>) element).compareTo(current);
+    }
+
+    private String toPythonString(Serializable value) {
+        if (value == null) {
+            return "None";
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? "True" : "False";
+        } else if (value instanceof String || value instanceof Integer || value instanceof Long ||
+                value instanceof BigInteger) {
+            return value.toString();
+        }
+        throw evaluationError("Values of type " + getTypeName(value) + " can not be converted in a folded str()");
+    }
+
+    private Serializable toPythonInteger(BigInteger value) {
+        if (value.bitLength() < Integer.SIZE) {
+            return value.intValue();
+        }
+        return value;
+    }
+
+    private RuntimeException evaluationError(String message) {
+        return new RuntimeException("Error in evaluating expression: '" + expression + "',\n\t" + message);
+    }
+
+    private static String getTypeName(Serializable value) {
+        return value == null ? "NoneType" : value.getClass().getSimpleName();
+    }
+
+    private static String unquote(String string) {
+        return string.substring(1, string.length() - 1);
+    }
+}
@@ -20,10 +20,10 @@ import org.apache.commons.lang.StringUtils;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.GLOBAL_SESSION_OBJECT;
 import static io.cloudslang.score.api.execution.ExecutionParametersConsts.SESSION_OBJECT;
@@ -38,6 +38,15 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
     private static final String SERIALIZABLE_SESSION_OBJECT = SerializableSessionObject.class.getCanonicalName();
     private static final String STEP_SERIALIZABLE_SESSION_OBJECT =
             StepSerializableSessionObject.class.getCanonicalName();
+    // the bindings are kept with the action class, so they are released together with its class loader
+    private static final ClassValue<ConcurrentMap<Method, ParameterBinding[]>> PARAMETER_BINDINGS =
+            new ClassValue<ConcurrentMap<Method, ParameterBinding[]>>() {
+                @Override
+                protected ConcurrentMap<Method, ParameterBinding[]> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     private final Map<String, SerializableSessionObject> serializableSessionData;
     private final Map<String, Serializable> currentContext;
     private final Map<String, Object> globalSessionObjectData;
@@ -60,60 +69,106 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
 
     @Override
     public Object[] getExecutionParameters(Method executionMethod) {
+        ParameterBinding[] bindings = getParameterBindings(executionMethod);
+        Object[] args = new Object[bindings.length];
+        boolean allParametersBound = true;
+        for (int index = 0; index < bindings.length; index++) {
+            ParameterBinding binding = bindings[index];
+            if (binding == null) {
+                allParametersBound = false;
+                continue;
+            }
+            switch (binding.kind) {
+                case GLOBAL_SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(globalSessionObjectData,
+                            GLOBAL_SESSION_OBJECT_CLASS_NAME, binding.name, binding.classLoader);
+                    break;
+                case SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(sessionObjectData, SESSION_OBJECT_CLASS_NAME,
+                            binding.name + "_" + (depth - 1), binding.classLoader);
+                    break;
+                case SERIALIZABLE_SESSION_OBJECT:
+                    args[index] = getSessionContextArgument(serializableSessionData, SERIALIZABLE_SESSION_OBJECT,
+                            binding.name, binding.classLoader);
+                    break;
+                case STEP_SERIALIZABLE_SESSION_OBJECT:
+                    args[index] = getStepSessionContextArgument(serializableSessionData, binding.name,
+                            binding.classLoader);
+                    break;
+                default:
+                    args[index] = getContextArgument(executionMethod, binding);
+            }
+        }
+        if (!allParametersBound) {
+            throw new RuntimeException("All action arguments should be annotated with @Param");
+        }
+        return args;
+    }
+
+    private Serializable getContextArgument(Method executionMethod, ParameterBinding binding) {
+        Serializable value = currentContext.get(binding.name);
+        if ((value == null) || binding.type.isInstance(value)) {
+            return value;
+        }
+        throw new RuntimeException(new StringBuilder("Parameter type mismatch for action ")
+                .append(executionMethod.getName())
+                .append(" of class ")
+                .append(executionMethod.getDeclaringClass().getName())
+                .append(". Parameter ")
+                .append(binding.name)
+                .append(" expects type ")
+                .append(binding.type.getName())
+                .append(". Actual type is ")
+                .append(value.getClass().getName())
+                .toString());
+    }
+
+    private static ParameterBinding[] getParameterBindings(Method executionMethod) {
+        ConcurrentMap<Method, ParameterBinding[]> bindingsByMethod =
+                PARAMETER_BINDINGS.get(executionMethod.getDeclaringClass());
+        ParameterBinding[] bindings = bindingsByMethod.get(executionMethod);
+        if (bindings == null) {
+            bindings = createParameterBindings(executionMethod);
+            bindingsByMethod.putIfAbsent(executionMethod, bindings);
+        }
+        return bindings;
+    }
+
+    /**
+     * Resolves the name, kind and type of every parameter of the action method.
+     * A parameter which is not annotated with @Param has a null binding.
+     */
+    private static ParameterBinding[] createParameterBindings(Method executionMethod) {
         Class<?>[] parameterTypes = executionMethod.getParameterTypes();
-        List<Object> args = new ArrayList<>(parameterTypes.length);
-        int index = -1;
         Annotation[][] parameterAnnotations = executionMethod.getParameterAnnotations();
-        for (Annotation[] annotations : parameterAnnotations) {
-            index++;
-            for (Annotation annotation : annotations) {
+        ParameterBinding[] bindings = new ParameterBinding[parameterAnnotations.length];
+        for (int index = 0; index < parameterAnnotations.length; index++) {
+            for (Annotation annotation : parameterAnnotations[index]) {
                 String parameterName = getValueIfParamAnnotation(annotation);
                 if (parameterName != null) {
-                    String paramClassName = parameterTypes[index].getCanonicalName();
-                    if (paramClassName.equals(GLOBAL_SESSION_OBJECT_CLASS_NAME)) {
-                        handleSessionContextArgument(globalSessionObjectData, GLOBAL_SESSION_OBJECT_CLASS_NAME,
-                                args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(SESSION_OBJECT_CLASS_NAME)) {
-                        handleSessionContextArgument(sessionObjectData, SESSION_OBJECT_CLASS_NAME,
-                                args, parameterName + "_" + (depth - 1),
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(SERIALIZABLE_SESSION_OBJECT)) {
-                        handleSessionContextArgument(serializableSessionData, SERIALIZABLE_SESSION_OBJECT,
-                                args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else if (paramClassName.equals(STEP_SERIALIZABLE_SESSION_OBJECT)) {
-                        handleStepSessionContextArgument(serializableSessionData, args, parameterName,
-                                annotation.getClass().getClassLoader());
-                    } else {
-                        Serializable value = currentContext.get(parameterName);
-                        Class<?> parameterClass = parameterTypes[index];
-                        if ((value == null) || parameterClass.isInstance(value)) {
-                            args.add(value);
-                        } else {
-                            throw new RuntimeException(new StringBuilder("Parameter type mismatch for action ")
-                                    .append(executionMethod.getName())
-                                    .append(" of class ")
-                                    .append(executionMethod.getDeclaringClass().getName())
-                                    .append(". Parameter ")
-                                    .append(parameterName)
-                                    .append(" expects type ")
-                                    .append(parameterClass.getName())
-                                    .append(". Actual type is ")
-                                    .append(value.getClass().getName())
-                                    .toString());
-                        }
-                    }
+                    bindings[index] = new ParameterBinding(parameterName, getParameterKind(parameterTypes[index]),
+                            parameterTypes[index], annotation.getClass().getClassLoader());
                 }
             }
         }
-        if (args.size() != parameterAnnotations.length) {
-            throw new RuntimeException("All action arguments should be annotated with @Param");
+        return bindings;
+    }
+
+    private static ParameterKind getParameterKind(Class<?> parameterType) {
+        String paramClassName = parameterType.getCanonicalName();
+        if (GLOBAL_SESSION_OBJECT_CLASS_NAME.equals(paramClassName)) {
+            return ParameterKind.GLOBAL_SESSION_OBJECT;
+        } else if (SESSION_OBJECT_CLASS_NAME.equals(paramClassName)) {
+            return ParameterKind.SESSION_OBJECT;
+        } else if (SERIALIZABLE_SESSION_OBJECT.equals(paramClassName)) {
+            return ParameterKind.SERIALIZABLE_SESSION_OBJECT;
+        } else if (STEP_SERIALIZABLE_SESSION_OBJECT.equals(paramClassName)) {
+            return ParameterKind.STEP_SERIALIZABLE_SESSION_OBJECT;
         }
-        return args.toArray(new Object[args.size()]);
+        return ParameterKind.CONTEXT_VALUE;
     }
 
-    private String getValueIfParamAnnotation(Annotation annotation) {
+    private static String getValueIfParamAnnotation(Annotation annotation) {
         Class<? extends Annotation> annotationType = annotation.annotationType();
         if (PARAM_CLASS_NAME.equalsIgnoreCase(annotation.annotationType().getCanonicalName())) {
             try {
@@ -126,8 +181,7 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
         return null;
     }
 
-    private void handleStepSessionContextArgument(Map sessionData, List<Object> args,
-                                                  String parameterName, ClassLoader classLoader) {
+    private Object getStepSessionContextArgument(Map sessionData, String parameterName, ClassLoader classLoader) {
         final String stepSessionKey = parameterName + "_" + nodeNameWithDepth;
         Object sessionContextObject = sessionData.get(stepSessionKey);
         if (sessionContextObject == null) {
@@ -142,11 +196,11 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
             //noinspection unchecked
             sessionData.put(stepSessionKey, sessionContextObject);
         }
-        args.add(sessionContextObject);
+        return sessionContextObject;
     }
 
-    private void handleSessionContextArgument(Map sessionData, String objectClassName, List<Object> args,
-                                              String parameterName, ClassLoader classLoader) {
+    private Object getSessionContextArgument(Map sessionData, String objectClassName, String parameterName,
+                                             ClassLoader classLoader) {
         // cloudslang list iterator fix
         final String parameter = StringUtils.startsWith(this.nodeNameWithDepth, "list_iterator") ?
                 this.nodeNameWithDepth : parameterName;
@@ -161,6 +215,28 @@ public class CloudSlangJavaExecutionParameterProvider implements JavaExecutionPa
             //noinspection unchecked
             sessionData.put(parameter, sessionContextObject);
         }
-        args.add(sessionContextObject);
+        return sessionContextObject;
+    }
+
+    private enum ParameterKind {
+        GLOBAL_SESSION_OBJECT,
+        SESSION_OBJECT,
+        SERIALIZABLE_SESSION_OBJECT,
+        STEP_SERIALIZABLE_SESSION_OBJECT,
+        CONTEXT_VALUE
+    }
+
+    private static class ParameterBinding {
+        private final String name;
+        private final ParameterKind kind;
+        private final Class<?> type;
+        private final ClassLoader classLoader;
+
+        private ParameterBinding(String name, ParameterKind kind, Class<?> type, ClassLoader classLoader) {
+            this.name = name;
+            this.kind = kind;
+            this.type = type;
+            this.classLoader = classLoader;
+        }
     }
 }
@@ -110,6 +110,7 @@ public class ExecutableExecutionData extends AbstractExecutionData {
                                 @Param(ScoreLangConstants.EXECUTABLE_TYPE) ExecutableType executableType,
                                 @Param(SYSTEM_CONTEXT) SystemContext systemContext,
                                 @Param(USE_EMPTY_VALUES_FOR_PROMPTS_KEY) Boolean useEmptyValuesForPrompts) {
+        reloadEventSettings();
         try {
             if (runEnv.isContextModified()) {
                 rebindArguments(runEnv, executionRuntimeServices, nodeName);
@@ -31,7 +31,6 @@ import io.cloudslang.score.api.execution.ExecutionParametersConsts;
 import io.cloudslang.score.lang.ExecutionRuntimeServices;
 import io.cloudslang.score.lang.SystemContext;
 import org.apache.commons.collections4.MapUtils;
-import org.apache.commons.lang.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
@@ -61,6 +60,14 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
 
     public static final String BRANCH_EXCEPTION_PREFIX = "Error running branch";
 
+    /**
+     * When enabled, publish values that only aggregate over branches_context (counters, concatenations, sums,
+     * min/max, first value) are folded while the branches are collected, so the branch contexts are not kept
+     * for the join. Publish values using branches_context in any other way keep the full branch contexts.
+     */
+    private static final boolean FOLD_JOIN = Boolean.valueOf(
+            System.getProperty("cslang.parallel.loop.foldJoin", "false"));
+
     @Autowired
     private ParallelLoopBinding parallelLoopBinding;
 
@@ -105,7 +112,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             runEnv.getExecutionPath().down();
 
             for (Value splitItem : splitData) {
-                Context branchContext = (Context) SerializationUtils.clone(flowContext);
+                // a shallow copy of the flow variables per branch, the branch adds its split item to it
+                Context branchContext = flowContext.shallowCopy();
 
                 // first fire event
                 fireEvent(
@@ -121,8 +129,7 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                 // take path down one level
                 runEnv.getExecutionPath().down();
 
-                RunEnvironment branchRuntimeEnvironment = (RunEnvironment) SerializationUtils.clone(runEnv);
-                branchRuntimeEnvironment.resetStacks();
+                RunEnvironment branchRuntimeEnvironment = runEnv.createBranchEnvironment();
 
                 StatefulSessionStack branchStack = branchRuntimeEnvironment.getStatefulSessionsStack();
                 branchStack.pushSessionsMap(new HashMap<>());
@@ -176,12 +183,16 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             }
             Context flowContext = runEnv.getStack().popContext();
 
-            collectBranchesData(executionRuntimeServices, nodeName, branchesContext);
+            Map<String, BranchesContextFold> folds = FOLD_JOIN ? BranchesContextFold.create(stepPublishValues) : null;
+            String parallelLoopResult =
+                collectBranchesData(executionRuntimeServices, nodeName, branchesContext, folds);
             Map<String, Value> outputBindingContext = new HashMap<>();
-            outputBindingContext.put(
-                RuntimeConstants.BRANCHES_CONTEXT_KEY,
-                ValueFactory.create((Serializable) branchesContext)
-            );
+            if (folds == null) {
+                outputBindingContext.put(
+                    RuntimeConstants.BRANCHES_CONTEXT_KEY,
+                    ValueFactory.create((Serializable) branchesContext)
+                );
+            }
 
             Map<String, Value> globalContext = flowContext.getImmutableViewOfMagicVariables();
             Map<String, Value> publishValues =
@@ -192,13 +203,12 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                     stepNavigationValues,
                     nodeName,
                     outputBindingContext,
-                    globalContext
+                    globalContext,
+                    folds
                 );
 
             flowContext.putVariables(publishValues);
 
-            String parallelLoopResult = getParallelLoopResult(branchesContext);
-
             handleNavigationAndReturnValues(
                 runEnv,
                 executionRuntimeServices,
@@ -254,19 +264,6 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         runEnv.putNextStepPosition(nextStepPosition);
     }
 
-    private String getParallelLoopResult(List<Map<String, Serializable>> branchesContext) {
-        // if one of the branches failed then return with FAILURE, otherwise return with SUCCESS
-        String parallelLoopResult = ScoreLangConstants.SUCCESS_RESULT;
-        for (Map<String, Serializable> branchContext : branchesContext) {
-            String branchResult = (String) branchContext.get(ScoreLangConstants.BRANCH_RESULT_KEY);
-            if (branchResult.equals(ScoreLangConstants.FAILURE_RESULT)) {
-                parallelLoopResult = ScoreLangConstants.FAILURE_RESULT;
-                break;
-            }
-        }
-        return parallelLoopResult;
-    }
-
     private Map<String, Value> bindPublishValues(
         RunEnvironment runEnv,
         ExecutionRuntimeServices executionRuntimeServices,
@@ -274,7 +271,8 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
         Map<String, ResultNavigation> stepNavigationValues,
         String nodeName,
         Map<String, Value> publishContext,
-        Map<String, Value> globalContext) {
+        Map<String, Value> globalContext,
+        Map<String, BranchesContextFold> folds) {
 
         fireEvent(
             executionRuntimeServices,
@@ -288,18 +286,32 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             Pair.of(ScoreLangConstants.STEP_NAVIGATION_KEY, (Serializable) stepNavigationValues));
 
         ReadOnlyContextAccessor outputsBindingAccessor = new ReadOnlyContextAccessor(publishContext, globalContext);
+        if (folds == null) {
+            return outputsBinding.bindOutputs(
+                outputsBindingAccessor,
+                runEnv.getSystemProperties(),
+                stepPublishValues
+            );
+        }
         return outputsBinding.bindOutputs(
             outputsBindingAccessor,
             runEnv.getSystemProperties(),
-            stepPublishValues
+            stepPublishValues,
+            folds
         );
     }
 
-    private void collectBranchesData(
+    /**
+     * @param folds the folded publish values, or null if the branch contexts should be added to branchesContext
+     * @return the parallel loop result: FAILURE if one of the branches failed, otherwise SUCCESS
+     */
+    private String collectBranchesData(
         ExecutionRuntimeServices executionRuntimeServices,
         String nodeName,
-        List<Map<String, Serializable>> branchesContext) {
+        List<Map<String, Serializable>> branchesContext,
+        Map<String, BranchesContextFold> folds) {
 
+        String parallelLoopResult = ScoreLangConstants.SUCCESS_RESULT;
         List<EndBranchDataContainer> branches = executionRuntimeServices.getFinishedChildBranchesData();
         Double roiBeforeParallelLoop = executionRuntimeServices.getRoiValue();
         for (EndBranchDataContainer branch : branches) {
@@ -309,11 +321,20 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
             RunEnvironment branchRuntimeEnvironment = (RunEnvironment) branchContext.get(ScoreLangConstants.RUN_ENV);
             Map<String, Value> initialBranchContext =
                 branchRuntimeEnvironment.getStack().popContext().getImmutableViewOfVariables();
-            Map<String, Serializable> branchContextMap = convert(initialBranchContext);
             ReturnValues executableReturnValues = branchRuntimeEnvironment.removeReturnValues();
             String branchResult = executableReturnValues.getResult();
-            branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, branchResult);
-            branchesContext.add(branchContextMap);
+            if (folds == null) {
+                Map<String, Serializable> branchContextMap = convert(initialBranchContext);
+                branchContextMap.put(ScoreLangConstants.BRANCH_RESULT_KEY, branchResult);
+                branchesContext.add(branchContextMap);
+            } else {
+                for (BranchesContextFold fold : folds.values()) {
+                    fold.accept(initialBranchContext, branchResult);
+                }
+            }
+            if (ScoreLangConstants.FAILURE_RESULT.equals(branchResult)) {
+                parallelLoopResult = ScoreLangConstants.FAILURE_RESULT;
+            }
 
             // up branch path
             branchRuntimeEnvironment.getExecutionPath().up();
@@ -334,6 +355,7 @@ public class ParallelLoopExecutionData extends AbstractExecutionData {
                 Pair.of(RuntimeConstants.BRANCH_RETURN_VALUES_KEY, executableReturnValues)
             );
         }
+        return parallelLoopResult;
     }
 
     private void checkExceptionInBranch(EndBranchDataContainer branch) {
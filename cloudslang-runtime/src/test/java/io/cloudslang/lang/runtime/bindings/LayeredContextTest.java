@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings;
+
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class LayeredContextTest {
+
+    @Test
+    public void testLaterLayersHideEarlierOnes() {
+        Map<String, Value> source = new HashMap<>();
+        source.put("host", ValueFactory.create("source_host"));
+        source.put("port", ValueFactory.create("22"));
+        Map<String, Value> target = new HashMap<>();
+        target.put("host", ValueFactory.create("target_host"));
+        target.put("user", null);
+
+        Map<String, Value> expected = new HashMap<>(source);
+        expected.put("input", ValueFactory.create("value"));
+        expected.putAll(target);
+
+        LayeredContext layeredContext = new LayeredContext(source,
+                singletonMap("input", ValueFactory.create("value")), target);
+
+        assertEquals(expected, layeredContext);
+        assertEquals(expected.size(), layeredContext.size());
+        assertEquals(ValueFactory.create("target_host"), layeredContext.get("host"));
+        assertTrue(layeredContext.containsKey("user"));
+        assertNull(layeredContext.get("user"));
+    }
+
+    @Test
+    public void testLayersChangesAreVisible() {
+        Map<String, Value> target = new HashMap<>();
+        LayeredContext layeredContext = new LayeredContext(singletonMap("a", ValueFactory.create("1")), target);
+
+        target.put("b", ValueFactory.create("2"));
+
+        assertEquals(2, layeredContext.size());
+        assertEquals(ValueFactory.create("2"), layeredContext.get("b"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReadOnly() {
+        new LayeredContext(new HashMap<>()).put("a", ValueFactory.create("1"));
+    }
+}
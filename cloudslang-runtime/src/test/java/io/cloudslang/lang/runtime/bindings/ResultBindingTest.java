@@ -136,6 +136,53 @@ public class ResultBindingTest {
         resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
     }
 
+    @Test
+    public void testBindInputThirdResult() throws Exception {
+        List<Result> results = asList(
+                createResult(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create("${ int(status) == 1 }")),
+                createResult("WARNING", ValueFactory.create("${ int(status) == 0 # not 1 }")),
+                createResult(ScoreLangConstants.FAILURE_RESULT, ValueFactory.create("${ int(status) }")));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("status", ValueFactory.create("-1"));
+        String result = resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+        Assert.assertEquals(ScoreLangConstants.FAILURE_RESULT, result);
+    }
+
+    @Test
+    public void testIllegalResultExpressionAfterFalseResult() throws Exception {
+        List<Result> results = asList(
+                createResult(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create("${ int(status) == 1 }")),
+                createResult("WARNING", ValueFactory.create("${ str(status) }")),
+                createResult(ScoreLangConstants.FAILURE_RESULT, ValueFactory.create("${ int(status) == -1 }")));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("status", ValueFactory.create("-1"));
+        try {
+            resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+            Assert.fail("the expression of WARNING is not a boolean");
+        } catch (RuntimeException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith("Error resolving the result. The expression"));
+            Assert.assertTrue(ex.getMessage().contains("str(status)"));
+            Assert.assertTrue(ex.getMessage().endsWith("does not return boolean value"));
+        }
+    }
+
+    @Test
+    public void testResultExpressionRaisingAfterFalseResult() throws Exception {
+        List<Result> results = asList(
+                createResult(ScoreLangConstants.SUCCESS_RESULT, ValueFactory.create("${ int(status) == 1 }")),
+                createResult("WARNING", ValueFactory.create("${ int(missing) == 0 }")),
+                createResult(ScoreLangConstants.FAILURE_RESULT, ValueFactory.create("${ True }")));
+        HashMap<String, Value> context = new HashMap<>();
+        context.put("status", ValueFactory.create("-1"));
+        try {
+            resultsBinding.resolveResult(new HashMap<String, Value>(), context, EMPTY_SET, results, null);
+            Assert.fail("the expression of WARNING reads an undefined variable");
+        } catch (RuntimeException ex) {
+            Assert.assertTrue(ex.getMessage().startsWith("Error evaluating result: 'WARNING'"));
+            Assert.assertTrue(ex.getMessage().contains("missing"));
+        }
+    }
+
     @Test
     public void testBindInputNullResult() throws Exception {
         List<Result> results = asList(
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.bindings.scripts;
+
+import io.cloudslang.lang.entities.bindings.values.PyObjectValue;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LazyPythonContextTest {
+
+    @Test
+    public void testValuesAreWrappedWhenRead() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("host", ValueFactory.create("localhost"));
+        context.put("port", ValueFactory.create("22"));
+        AtomicInteger wrappedValues = new AtomicInteger();
+        LazyPythonContext pythonContext = new LazyPythonContext(context, value -> {
+            wrappedValues.incrementAndGet();
+            return ValueFactory.createPyObjectValueForExternalPython(value);
+        });
+
+        Serializable host = pythonContext.get("host");
+
+        assertEquals(1, wrappedValues.get());
+        assertSame(host, pythonContext.get("host"));
+        assertEquals(1, wrappedValues.get());
+    }
+
+    @Test
+    public void testSerializedAsHashMap() {
+        Map<String, Value> context = new HashMap<>();
+        context.put("host", ValueFactory.create("localhost"));
+        LazyPythonContext pythonContext = new LazyPythonContext(context,
+                ValueFactory::createPyObjectValueForExternalPython);
+        pythonContext.put("added", "value");
+
+        Map<String, Serializable> deserialized = SerializationUtils.roundtrip(pythonContext);
+
+        assertEquals(HashMap.class, deserialized.getClass());
+        assertEquals(2, deserialized.size());
+        assertEquals("value", deserialized.get("added"));
+        assertTrue(deserialized.get("host") instanceof PyObjectValue);
+        assertEquals("localhost", ((PyObjectValue) deserialized.get("host")).get());
+    }
+}
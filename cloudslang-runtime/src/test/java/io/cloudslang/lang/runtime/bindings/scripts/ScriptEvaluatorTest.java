@@ -59,6 +59,7 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.python.google.common.collect.Sets.newHashSet;
 
@@ -157,6 +158,64 @@ public class ScriptEvaluatorTest {
                 BACKWARD_COMPATIBLE_ACCESS_METHOD));
     }
 
+    @Test
+    public void testEvalFunctionsScriptIsReused() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        final ArgumentCaptor<String> scriptCaptor = ArgumentCaptor.forClass(String.class);
+
+        scriptEvaluator.evalExpr("expr1", new HashMap<String, Value>(), new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.GET, ScriptFunction.CHECK_EMPTY));
+        scriptEvaluator.evalExpr("expr2", new HashMap<String, Value>(), new HashSet<SystemProperty>(),
+                newHashSet(ScriptFunction.CHECK_EMPTY, ScriptFunction.GET));
+
+        verify(pythonRuntimeService).eval(scriptCaptor.capture(), eq("expr1"), anyMap());
+        verify(pythonRuntimeService).eval(scriptCaptor.capture(), eq("expr2"), anyMap());
+        Assert.assertSame(scriptCaptor.getAllValues().get(0), scriptCaptor.getAllValues().get(1));
+    }
+
+    @Test
+    public void testEvalTrivialExpressionsNatively() throws Exception {
+        reset(pythonRuntimeService);
+        Map<String, Value> context = new HashMap<>();
+        context.put("host", ValueFactory.create("localhost"));
+        context.put("password", ValueFactory.create("secret", true));
+        Set<ScriptFunction> functionDependencies = newHashSet(ScriptFunction.GET, ScriptFunction.CS_APPEND,
+                ScriptFunction.CS_TO_UPPER);
+
+        Value host = scriptEvaluator.evalExpr("host", context, new HashSet<SystemProperty>(), functionDependencies);
+        Value port = scriptEvaluator.evalExpr("get('port', '8080')", context, new HashSet<SystemProperty>(),
+                functionDependencies);
+        Value upper = scriptEvaluator.evalExpr("cs_to_upper( host )", context, new HashSet<SystemProperty>(),
+                functionDependencies);
+        Value appended = scriptEvaluator.evalExpr("cs_append(host, password)", context,
+                new HashSet<SystemProperty>(), functionDependencies);
+
+        assertThat(host, is(ValueFactory.create("localhost")));
+        assertThat(port, is(ValueFactory.create("8080")));
+        assertThat(upper, is(ValueFactory.create("LOCALHOST")));
+        Assert.assertEquals("localhostsecret", appended.get());
+        Assert.assertTrue(appended.isSensitive());
+        verifyZeroInteractions(pythonRuntimeService);
+    }
+
+    @Test
+    public void testEvalNonTrivialExpressionFallsBackToPython() throws Exception {
+        reset(pythonRuntimeService);
+        when(pythonRuntimeService.eval(anyString(), anyString(), isA(Map.class)))
+                .thenReturn(new PythonEvaluationResult("result", new HashMap<String, Serializable>()));
+        Map<String, Value> context = new HashMap<>();
+        context.put("count", ValueFactory.create(5));
+
+        scriptEvaluator.evalExpr("count", context, new HashSet<SystemProperty>(), new HashSet<ScriptFunction>());
+        scriptEvaluator.evalExpr("host + 'a'", context, new HashSet<SystemProperty>(),
+                new HashSet<ScriptFunction>());
+
+        verify(pythonRuntimeService).eval(anyString(), eq("count"), anyMap());
+        verify(pythonRuntimeService).eval(anyString(), eq("host + 'a'"), anyMap());
+    }
+
     @Configuration
     static class Config {
         @Bean
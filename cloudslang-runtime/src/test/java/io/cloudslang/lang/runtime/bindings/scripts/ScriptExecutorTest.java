@@ -43,7 +43,9 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import javax.annotation.Resource;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -151,6 +153,29 @@ public class ScriptExecutorTest {
         Assert.assertTrue(expectedArgs.size() == actualArgs.size() && actualArgs.containsAll(expectedArgs));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExternalPythonSameScriptDifferentInputs() {
+        String script = PythonScriptGeneratorUtils.generateScript(Arrays.asList("input1", "input2"));
+        ArgumentCaptor<Map> callArgCaptor = ArgumentCaptor.forClass(Map.class);
+        when(externalPyhonRuntimeService.exec(any(), eq(script), callArgCaptor.capture()))
+                .thenReturn(new PythonExecutionResult(new HashMap<>()));
+
+        Map<String, Value> firstInputValues = new HashMap<>();
+        firstInputValues.put("input1", ValueFactory.create("value1"));
+        firstInputValues.put("input3", ValueFactory.create("value3"));
+        scriptExecutor.executeScript(script, firstInputValues, false);
+        Map<String, Value> secondInputValues = new HashMap<>();
+        secondInputValues.put("input1", ValueFactory.create("value1"));
+        secondInputValues.put("input2", ValueFactory.create("value2"));
+        scriptExecutor.executeScript(script, secondInputValues, false);
+
+        List<Map> captured = callArgCaptor.getAllValues();
+        Assert.assertEquals(2, captured.size());
+        Assert.assertEquals(Collections.singleton("input1"), captured.get(0).keySet());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("input1", "input2")), captured.get(1).keySet());
+    }
+
     @Configuration
     static class Config {
         @Bean
@@ -18,6 +18,7 @@ import io.cloudslang.lang.spi.encryption.Encryption;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -44,6 +45,8 @@ import static org.junit.Assert.assertTrue;
 public class RunEnvironmentSensitiveTest {
     private static final String ENCYPTED = "{Encrypted}";
     private static final String OBFUSCATED = "{Obfuscated}";
+    private static final AtomicInteger DECRYPTIONS = new AtomicInteger();
+    private static final String CACHE_DECRYPTED_CONTENT = "cslang.sensitive.cacheDecryptedContent";
 
     @Test
     public void testEmptyRunEnvironmentNotSensitive() {
@@ -185,6 +188,40 @@ public class RunEnvironmentSensitiveTest {
         testEncrypted(systemProperty1, systemProperty2, callValue1, callValue2, output1, output2, true);
     }
 
+    @Test
+    public void testDecryptedContentIsNotCachedByDefault() {
+        Value callValue = ValueFactory.create("callValue", true);
+
+        int decryptions = DECRYPTIONS.get();
+        assertEquals("callValue", callValue.get());
+        assertEquals("callValue", callValue.get());
+        assertEquals(decryptions + 2, DECRYPTIONS.get());
+    }
+
+    @Test
+    public void testDecryptedContentIsCachedUntilEncrypt() {
+        System.setProperty(CACHE_DECRYPTED_CONTENT, "true");
+        try {
+            RunEnvironment runEnvironment = new RunEnvironment(Sets.<SystemProperty>newHashSet());
+            Value callValue = ValueFactory.create("callValue", true);
+            Map<String, Value> callArguments = Maps.newHashMap();
+            callArguments.put("callValue", callValue);
+            runEnvironment.putCallArguments(callArguments);
+
+            int decryptions = DECRYPTIONS.get();
+            assertEquals("callValue", callValue.get());
+            assertEquals("callValue", callValue.get());
+            assertEquals(decryptions + 1, DECRYPTIONS.get());
+
+            runEnvironment.encryptSensitiveData();
+            assertEquals("{Encrypted}rO0ABXQACWNhbGxWYWx1ZQ==", ((SensitiveValue) callValue).getContent());
+            assertEquals("callValue", callValue.get());
+            assertEquals(decryptions + 2, DECRYPTIONS.get());
+        } finally {
+            System.clearProperty(CACHE_DECRYPTED_CONTENT);
+        }
+    }
+
     private void testEncrypted(SystemProperty systemProperty1, SystemProperty systemProperty2,
                                Value callValue1, Value callValue2,
                                Value output1, Value output2, boolean encrypted) {
@@ -248,6 +285,7 @@ public class RunEnvironmentSensitiveTest {
 
                 @Override
                 public char[] decrypt(String cypherText) {
+                    DECRYPTIONS.incrementAndGet();
                     return cypherText.substring(ENCYPTED.length()).toCharArray();
                 }
 
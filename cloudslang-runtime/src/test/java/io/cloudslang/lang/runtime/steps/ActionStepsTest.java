@@ -68,6 +68,7 @@ import java.util.concurrent.Semaphore;
 import static io.cloudslang.lang.entities.ActionType.JAVA;
 import static io.cloudslang.lang.entities.ActionType.PYTHON;
 import static io.cloudslang.lang.entities.ActionType.SEQUENTIAL;
+import static io.cloudslang.lang.entities.properties.SlangSystemPropertyConstant.CSLANG_RUNTIME_EVENTS_DISABLED;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -225,6 +226,46 @@ public class ActionStepsTest {
         Assert.assertNotNull(actionEndEvent);
     }
 
+    @Test
+    public void doActionPythonActionDisabledEventNotFired() {
+        System.setProperty(CSLANG_RUNTIME_EVENTS_DISABLED.getValue(), ScoreLangConstants.EVENT_ACTION_START);
+        AbstractExecutionData.reloadEventSettings();
+        try {
+            //prepare doAction arguments
+            RunEnvironment runEnv = new RunEnvironment();
+            ExecutionRuntimeServices runtimeServices = new ExecutionRuntimeServices();
+            runEnv.putCallArguments(new HashMap<>());
+
+            //invoke doAction
+            actionSteps.doAction(
+                    runtimeServices,
+                    runEnv,
+                    nonSerializableExecutionData,
+                    2L,
+                    PYTHON,
+                    "",
+                    "",
+                    GAV_DEFAULT,
+                    "var= \"hello\"",
+                    true,
+                    DEPENDENCIES_DEFAULT,
+                    seqSteps,
+                    null,
+                    null
+            );
+
+            List<String> eventTypes = new ArrayList<>();
+            for (ScoreEvent event : runtimeServices.getEvents()) {
+                eventTypes.add(event.getEventType());
+            }
+            assertFalse(eventTypes.contains(ScoreLangConstants.EVENT_ACTION_START));
+            assertTrue(eventTypes.contains(ScoreLangConstants.EVENT_ACTION_END));
+        } finally {
+            System.clearProperty(CSLANG_RUNTIME_EVENTS_DISABLED.getValue());
+            AbstractExecutionData.reloadEventSettings();
+        }
+    }
+
     @Test
     public void doActionPythonActionCheckCallArgumentsOnEvent() {
         //prepare doAction arguments
@@ -540,6 +581,35 @@ public class ActionStepsTest {
         assertEquals(5, returnValues.getOutputs().get("port").get());
     }
 
+    @Test(timeout = DEFAULT_TIMEOUT)
+    public void doJavaActionInvokedTwiceBindsCurrentArguments() {
+        for (int port = 5; port < 7; port++) {
+            //prepare doAction arguments
+            RunEnvironment runEnv = new RunEnvironment();
+            Map<String, Value> initialCallArguments = new HashMap<>();
+            initialCallArguments.put("port", ValueFactory.create(port));
+            runEnv.putCallArguments(initialCallArguments);
+
+            //invoke doAction
+            actionSteps.doAction(
+                    executionRuntimeServicesMock,
+                    runEnv,
+                    nonSerializableExecutionData,
+                    2L,
+                    JAVA,
+                    ContentTestActions.class.getName(),
+                    "doJavaNumbersAction",
+                    GAV_DEFAULT,
+                    null,
+                    true,
+                    DEPENDENCIES_DEFAULT, seqSteps, null,
+                    null
+            );
+            ReturnValues returnValues = runEnv.removeReturnValues();
+            assertEquals(port, returnValues.getOutputs().get("port").get());
+        }
+    }
+
     @Test(expected = RuntimeException.class, timeout = DEFAULT_TIMEOUT)
     public void doActionJavaMissingActionTest() {
         //prepare doAction arguments
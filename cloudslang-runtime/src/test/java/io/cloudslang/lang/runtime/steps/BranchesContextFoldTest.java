@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * (c) Copyright 2016 Hewlett-Packard Development Company, L.P.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Apache License v2.0 which accompany this distribution.
+ *
+ * The Apache License is available at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *******************************************************************************/
+package io.cloudslang.lang.runtime.steps;
+
+import io.cloudslang.lang.entities.ScoreLangConstants;
+import io.cloudslang.lang.entities.bindings.Output;
+import io.cloudslang.lang.entities.bindings.values.Value;
+import io.cloudslang.lang.entities.bindings.values.ValueFactory;
+import org.junit.Test;
+import org.python.core.PyException;
+import org.python.util.PythonInterpreter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BranchesContextFoldTest {
+
+    private static final List<Map<String, Serializable>> BRANCHES = Arrays.asList(
+            branch(ScoreLangConstants.SUCCESS_RESULT, "host1", "12"),
+            branch(ScoreLangConstants.FAILURE_RESULT, "host2", "-3"),
+            branch(ScoreLangConstants.SUCCESS_RESULT, "host3", "40"),
+            branch(ScoreLangConstants.FAILURE_RESULT, "host4", "7")
+    );
+
+    @Test
+    public void testFoldedValuesMatchPython() {
+        List<String> expressions = Arrays.asList(
+                "str(len(branches_context))",
+                "str(len([b for b in branches_context if b['branch_result'] == 'FAILURE']))",
+                "','.join([b['host'] for b in branches_context])",
+                "' '.join([x['host'] for x in branches_context if x['branch_result'] != 'SUCCESS'])",
+                "str(sum([int(b['size']) for b in branches_context]))",
+                "str(min([int(b['size']) for b in branches_context]))",
+                "max([b['host'] for b in branches_context])",
+                "[b['host'] for b in branches_context if b['branch_result'] == 'FAILURE'][0]",
+                "len(branches_context)",
+                "sum([int(b['size']) for b in branches_context if b['host'] == 'host3'])"
+        );
+        for (String expression : expressions) {
+            assertEquals(expression, evaluateInPython(expression, BRANCHES), fold(expression, BRANCHES));
+        }
+    }
+
+    @Test
+    public void testEmptyBranchesMatchPython() {
+        List<Map<String, Serializable>> branches = new ArrayList<>();
+        for (String expression : Arrays.asList("str(len(branches_context))",
+                "','.join([b['host'] for b in branches_context])",
+                "str(sum([int(b['size']) for b in branches_context]))")) {
+            assertEquals(expression, evaluateInPython(expression, branches), fold(expression, branches));
+        }
+    }
+
+    @Test
+    public void testErrorsRaisedLikePython() {
+        List<Map<String, Serializable>> branches = new ArrayList<>(BRANCHES);
+        branches.add(branch(ScoreLangConstants.SUCCESS_RESULT, "host5", "large"));
+        assertFoldError("str(sum([int(b['size']) for b in branches_context]))", branches,
+                "ValueError: invalid literal for int() with base 10: 'large'");
+        assertFoldError("','.join([b['missing'] for b in branches_context])", branches, "KeyError: 'missing'");
+        assertFoldError("str(max([int(b['size']) for b in branches_context if b['host'] == 'none']))", branches,
+                "ValueError: max() arg is an empty sequence");
+        assertFoldError("[b['host'] for b in branches_context if b['host'] == 'none'][0]", branches,
+                "IndexError: list index out of range");
+    }
+
+    @Test
+    public void testOtherExpressionsAreNotFolded() {
+        assertNull(BranchesContextFold.parse("branches_context[0]['host']"));
+        assertNull(BranchesContextFold.parse("str([b['host'] for b in branches_context])"));
+        assertNull(BranchesContextFold.parse("','.join([b['host'] + 'x' for b in branches_context])"));
+        assertNull(BranchesContextFold.parse("sum([b['size'] for b in branches_context])"));
+        assertNull(BranchesContextFold.parse("len([b for b in branches_context if c['host'] == 'host1'])"));
+    }
+
+    @Test
+    public void testCreate() {
+        Output folded = new Output("hosts",
+                ValueFactory.create("${ ','.join([b['host'] for b in branches_context]) }"));
+        Output plain = new Output("name", ValueFactory.create("${ name }"));
+        Output notFolded = new Output("first", ValueFactory.create("${ branches_context[0]['host'] }"));
+
+        Map<String, BranchesContextFold> folds = BranchesContextFold.create(Arrays.asList(folded, plain));
+
+        assertEquals(1, folds.size());
+        assertNotNull(folds.get("hosts"));
+        assertNull(BranchesContextFold.create(Arrays.asList(folded, plain, notFolded)));
+    }
+
+    private void assertFoldError(String expression, List<Map<String, Serializable>> branches, String error) {
+        try {
+            evaluateInPython(expression, branches);
+            fail("python should raise an error for: " + expression);
+        } catch (PyException e) {
+            assertTrue(e.toString(), e.toString().contains(error.substring(0, error.indexOf(':'))));
+        }
+        try {
+            fold(expression, branches);
+            fail("the fold should raise an error for: " + expression);
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(error));
+        }
+    }
+
+    private Serializable fold(String expression, List<Map<String, Serializable>> branches) {
+        BranchesContextFold fold = BranchesContextFold.parse(expression);
+        assertNotNull(expression, fold);
+        for (Map<String, Serializable> branch : branches) {
+            Map<String, Value> variables = new HashMap<>();
+            for (Map.Entry<String, Serializable> entry : branch.entrySet()) {
+                if (!ScoreLangConstants.BRANCH_RESULT_KEY.equals(entry.getKey())) {
+                    variables.put(entry.getKey(), ValueFactory.create(entry.getValue()));
+                }
+            }
+            fold.accept(variables, (String) branch.get(ScoreLangConstants.BRANCH_RESULT_KEY));
+        }
+        return fold.get().get();
+    }
+
+    private Serializable evaluateInPython(String expression, List<Map<String, Serializable>> branches) {
+        PythonInterpreter interpreter = new PythonInterpreter();
+        interpreter.set("branches_context", new ArrayList<>(branches));
+        return (Serializable) interpreter.eval(expression).__tojava__(Serializable.class);
+    }
+
+    private static Map<String, Serializable> branch(String result, String host, String size) {
+        Map<String, Serializable> branch = new HashMap<>();
+        branch.put(ScoreLangConstants.BRANCH_RESULT_KEY, result);
+        branch.put("host", host);
+        branch.put("size", size);
+        return branch;
+    }
+}
@@ -154,6 +154,8 @@ public class ParallelLoopStepsTest {
             actualSplitData.add(branchVariables.get("varName"));
         }
         Assert.assertEquals(expectedSplitData, actualSplitData);
+        Assert.assertFalse("split item leaked into the flow context",
+            runEnvironment.getStack().peekContext().getImmutableViewOfVariables().containsKey("varName"));
 
         Assert.assertEquals(5, (long) runEnvironment.removeNextStepPosition());
     }